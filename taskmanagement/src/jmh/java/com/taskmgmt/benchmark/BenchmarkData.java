@@ -0,0 +1,71 @@
+package com.taskmgmt.benchmark;
+
+import java.sql.*;
+import java.time.LocalDate;
+
+// Bulk JDBC seeding shared by the database benchmarks: users 1..users (user 1 is the admin), tasks
+// 1..rows created by users 1-10, each with one assignee spread over all users
+final class BenchmarkData {
+
+    static final LocalDate START = LocalDate.of(2026, 1, 1);
+
+    private static final String[] STATUSES = {"TODO", "IN_PROGRESS", "DONE"};
+
+    private BenchmarkData() {
+    }
+
+    static void seed(Connection connection, int users, int rows) throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+
+        try (PreparedStatement insertUsers = connection.prepareStatement(
+                "INSERT INTO users (id, name, email, role) VALUES (?, ?, ?, ?)")) {
+            for (int i = 1; i <= users; i++) {
+                insertUsers.setLong(1, i);
+                insertUsers.setString(2, "User " + i);
+                insertUsers.setString(3, "user" + i + "@example.com");
+                insertUsers.setString(4, i == 1 ? "ADMIN" : "USER");
+                insertUsers.addBatch();
+            }
+            insertUsers.executeBatch();
+        }
+
+        try (PreparedStatement tasks = connection.prepareStatement(
+                "INSERT INTO tasks (id, title, description, status, due_date, created_by) VALUES (?, ?, ?, ?, ?, ?)");
+             PreparedStatement assignees = connection.prepareStatement(
+                     "INSERT INTO task_assignees (id, task_id, user_id) VALUES (?, ?, ?)")) {
+            for (int i = 1; i <= rows; i++) {
+                tasks.setLong(1, i);
+                tasks.setString(2, "Task " + i);
+                tasks.setString(3, "Description of task " + i);
+                tasks.setString(4, STATUSES[i % STATUSES.length]);
+                tasks.setDate(5, Date.valueOf(START.plusDays(i % 365)));
+                tasks.setLong(6, 1 + (i % 10));
+                tasks.addBatch();
+
+                assignees.setLong(1, i);
+                assignees.setLong(2, i);
+                assignees.setLong(3, 1 + (i % users));
+                assignees.addBatch();
+
+                if (i % 10_000 == 0) {
+                    tasks.executeBatch();
+                    assignees.executeBatch();
+                    connection.commit();
+                }
+            }
+            tasks.executeBatch();
+            assignees.executeBatch();
+        }
+
+        // Explicit ids above: move the users and tasks sequences and the task_assignees generator row
+        // (pooled, 50 per block) past them so JPA and import inserts do not collide
+        try (Statement st = connection.createStatement()) {
+            st.execute("ALTER TABLE users ALTER COLUMN id RESTART WITH " + (users + 1));
+            st.execute("ALTER TABLE tasks ALTER COLUMN id RESTART WITH " + (rows + 1));
+            st.execute("UPDATE id_generators SET gen_value = " + (rows + 51) + " WHERE gen_name = 'task_assignees'");
+        }
+        connection.commit();
+        connection.setAutoCommit(autoCommit);
+    }
+}
@@ -0,0 +1,72 @@
+package com.taskmgmt.benchmark;
+
+import com.taskmgmt.security.JwtKeyRing;
+import com.taskmgmt.security.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sign / verify throughput of {@link JwtUtil} against the previous implementation, which derived
+ * the HMAC key and built a new parser on every call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtUtilBenchmark {
+
+    private static final String SECRET = "BenchmarkVeryStrongSecretKey1234567890!";
+    private static final long EXPIRATION = 3_600_000L;
+
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil(new JwtKeyRing(SECRET, ""), EXPIRATION, EXPIRATION, new SimpleMeterRegistry());
+        token = jwtUtil.generateToken("bench@example.com", "USER");
+    }
+
+    @Benchmark
+    public String signPrecomputedKey() {
+        return jwtUtil.generateToken("bench@example.com", "USER");
+    }
+
+    @Benchmark
+    public String signPerCallKey() {
+        Key key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        return Jwts.builder()
+                .setSubject("bench@example.com")
+                .claim("role", "USER")
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION))
+                .signWith(key, SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    @Benchmark
+    public boolean verifySharedParser() {
+        return jwtUtil.validateToken(token);
+    }
+
+    @Benchmark
+    public Claims verifyPerCallParser() {
+        Key key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        return Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+}
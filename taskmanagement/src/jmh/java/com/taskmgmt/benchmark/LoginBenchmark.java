@@ -0,0 +1,55 @@
+package com.taskmgmt.benchmark;
+
+import com.taskmgmt.config.SecurityConfig;
+import com.taskmgmt.entity.Role;
+import com.taskmgmt.security.AuthenticatedUser;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logins per second per core: one thread running the same password check as POST /api/auth/login
+ * (DaoAuthenticationProvider with the application's encoder), minus the user lookup, which the
+ * second-level cache answers. One parameter value per configured algorithm and cost.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Threads(1)
+@Fork(1)
+public class LoginBenchmark {
+
+    private static final String PASSWORD = "correct horse battery staple";
+
+    // <algorithm>:<bcrypt strength or argon2 memory in KiB>
+    @Param({"bcrypt:10", "bcrypt:12", "argon2:19456"})
+    public String encoder;
+
+    private DaoAuthenticationProvider provider;
+
+    @Setup
+    public void setUp() {
+        String[] spec = encoder.split(":");
+        int cost = Integer.parseInt(spec[1]);
+        boolean bcrypt = spec[0].equals("bcrypt");
+        PasswordEncoder passwordEncoder = new SecurityConfig(null, null, null)
+                .passwordEncoder(spec[0], bcrypt ? cost : 10, bcrypt ? 19456 : cost, 2, 1);
+
+        AuthenticatedUser user = new AuthenticatedUser(1L, "bench@example.com",
+                passwordEncoder.encode(PASSWORD), Role.USER);
+        provider = new DaoAuthenticationProvider();
+        provider.setUserDetailsService(username -> user);
+        provider.setPasswordEncoder(passwordEncoder);
+    }
+
+    @Benchmark
+    public Authentication login() {
+        return provider.authenticate(new UsernamePasswordAuthenticationToken("bench@example.com", PASSWORD));
+    }
+}
@@ -0,0 +1,86 @@
+package com.taskmgmt.benchmark;
+
+import com.taskmgmt.TaskManagementApplication;
+import com.taskmgmt.security.JwtUtil;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GET /api/tasks over HTTP from 64 concurrent callers, with platform or virtual request threads
+ * ({@code spring.threads.virtual.enabled}; virtual needs Java 21, on 17 both runs use platform
+ * threads). The whole stack is measured: Tomcat, the security filters, the listing query on H2.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Threads(64)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class RequestThreadingBenchmark {
+
+    private static final int USERS = 100;
+    private static final int ROWS = 5_000;
+
+    @Param({"false", "true"})
+    public boolean virtual;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private HttpRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        context = SpringApplication.run(TaskManagementApplication.class,
+                "--spring.profiles.active=bench",
+                "--server.port=0",
+                "--spring.main.banner-mode=off",
+                "--spring.threads.virtual.enabled=" + virtual,
+                "--spring.datasource.url=jdbc:h2:mem:threading-" + virtual + ";DB_CLOSE_DELAY=-1",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.hibernate.ddl-auto=validate",
+                "--jwt.secret=BenchmarkVeryStrongSecretKey1234567890!",
+                "--jwt.access-token-expiration=3600000",
+                "--jwt.refresh-token-expiration=86400000",
+                "--tasks.overdue.sweep-cron=-",
+                "--tasks.rate-limit.enabled=false",
+                "--logging.level.root=WARN");
+
+        try (Connection connection = context.getBean(DataSource.class).getConnection()) {
+            BenchmarkData.seed(connection, USERS, ROWS);
+        }
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        String token = context.getBean(JwtUtil.class).generateToken(2L, "user2@example.com", "USER");
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/tasks?size=50"))
+                .header("Authorization", "Bearer " + token)
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int listTasks() throws IOException, InterruptedException {
+        int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        if (status != 200) {
+            throw new IllegalStateException("GET /api/tasks answered " + status);
+        }
+        return status;
+    }
+}
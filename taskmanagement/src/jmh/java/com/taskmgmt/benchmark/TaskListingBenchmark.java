@@ -0,0 +1,123 @@
+package com.taskmgmt.benchmark;
+
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.*;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of the task listing SQL (the statements behind TaskRepository.findPage and
+ * TaskAssigneeRepository.findTaskPageForUser) on an H2 database migrated with the real Flyway
+ * scripts and seeded with {@code rows} tasks. {@code indexes=false} drops the V2 indexes to show
+ * what they buy.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class TaskListingBenchmark {
+
+    private static final int USERS = 1_000;
+    private static final int PAGE = 50;
+    private static final LocalDate START = BenchmarkData.START;
+
+    private static final String ADMIN_PAGE =
+            "SELECT t.id, t.title, t.description, t.status, t.due_date, u.id, u.name"
+                    + " FROM tasks t JOIN users u ON u.id = t.created_by"
+                    + " WHERE t.id < ? ORDER BY t.id DESC LIMIT " + (PAGE + 1);
+
+    private static final String ADMIN_FILTERED_PAGE =
+            "SELECT t.id, t.title, t.description, t.status, t.due_date, u.id, u.name"
+                    + " FROM tasks t JOIN users u ON u.id = t.created_by"
+                    + " WHERE t.id < ? AND t.status = ? AND t.due_date >= ? AND t.due_date <= ?"
+                    + " ORDER BY t.id DESC LIMIT " + (PAGE + 1);
+
+    private static final String USER_PAGE =
+            "SELECT t.id, t.title, t.description, t.status, t.due_date, u.id, u.name"
+                    + " FROM task_assignees a JOIN tasks t ON t.id = a.task_id JOIN users u ON u.id = t.created_by"
+                    + " WHERE a.user_id = ? AND t.id < ? ORDER BY t.id DESC LIMIT " + (PAGE + 1);
+
+    @Param({"1000000"})
+    public int rows;
+
+    @Param({"true", "false"})
+    public boolean indexes;
+
+    private Connection connection;
+    private PreparedStatement adminPage;
+    private PreparedStatement adminFilteredPage;
+    private PreparedStatement userPage;
+    private long userId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        String url = "jdbc:h2:mem:listing-" + rows + "-" + indexes + ";DB_CLOSE_DELAY=-1";
+        Flyway.configure().dataSource(url, "sa", "").load().migrate();
+        connection = DriverManager.getConnection(url, "sa", "");
+        BenchmarkData.seed(connection, USERS, rows);
+
+        if (!indexes) {
+            try (Statement st = connection.createStatement()) {
+                st.execute("DROP INDEX idx_task_assignees_user_task");
+                st.execute("DROP INDEX idx_tasks_status_due_date");
+            }
+        }
+        try (Statement st = connection.createStatement()) {
+            st.execute("ANALYZE");
+        }
+
+        adminPage = connection.prepareStatement(ADMIN_PAGE);
+        adminFilteredPage = connection.prepareStatement(ADMIN_FILTERED_PAGE);
+        userPage = connection.prepareStatement(USER_PAGE);
+        userId = USERS / 2;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement st = connection.createStatement()) {
+            st.execute("SHUTDOWN");
+        }
+    }
+
+    @Benchmark
+    public int adminFirstPage() throws SQLException {
+        adminPage.setLong(1, Long.MAX_VALUE);
+        return drain(adminPage);
+    }
+
+    @Benchmark
+    public int adminDeepPage() throws SQLException {
+        adminPage.setLong(1, rows / 10);
+        return drain(adminPage);
+    }
+
+    @Benchmark
+    public int adminStatusAndDueDatePage() throws SQLException {
+        adminFilteredPage.setLong(1, Long.MAX_VALUE);
+        adminFilteredPage.setString(2, "IN_PROGRESS");
+        adminFilteredPage.setDate(3, Date.valueOf(START.plusDays(10)));
+        adminFilteredPage.setDate(4, Date.valueOf(START.plusDays(12)));
+        return drain(adminFilteredPage);
+    }
+
+    @Benchmark
+    public int userFirstPage() throws SQLException {
+        userPage.setLong(1, userId);
+        userPage.setLong(2, Long.MAX_VALUE);
+        return drain(userPage);
+    }
+
+    private static int drain(PreparedStatement statement) throws SQLException {
+        int count = 0;
+        try (ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
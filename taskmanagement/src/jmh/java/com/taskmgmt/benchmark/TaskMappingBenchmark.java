@@ -0,0 +1,60 @@
+package com.taskmgmt.benchmark;
+
+import com.taskmgmt.dto.TaskResponseDto;
+import com.taskmgmt.entity.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of turning a page of loaded {@link Task} entities into {@link TaskResponseDto}s with
+ * {@code fromEntity}, the mapping the entity-based code paths still use.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskMappingBenchmark {
+
+    @Param({"50", "1000", "100000"})
+    public int size;
+
+    private List<Task> tasks;
+
+    @Setup
+    public void setUp() {
+        List<User> creators = new ArrayList<>();
+        for (long i = 1; i <= 10; i++) {
+            creators.add(User.builder().id(i).name("User " + i).email("user" + i + "@example.com").role(Role.USER).build());
+        }
+        tasks = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            tasks.add(Task.builder()
+                    .id((long) i)
+                    .title("Task " + i)
+                    .description("Description of task " + i)
+                    .status(TaskStatus.values()[i % TaskStatus.values().length])
+                    .dueDate(BenchmarkData.START.plusDays(i % 365))
+                    .createdBy(creators.get(i % creators.size()))
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public List<TaskResponseDto> mapList() {
+        List<TaskResponseDto> dtos = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            dtos.add(TaskResponseDto.fromEntity(task));
+        }
+        return dtos;
+    }
+
+    @Benchmark
+    public List<TaskResponseDto> mapStream() {
+        return tasks.stream().map(TaskResponseDto::fromEntity).toList();
+    }
+}
@@ -0,0 +1,130 @@
+package com.taskmgmt.benchmark;
+
+import com.taskmgmt.TaskManagementApplication;
+import com.taskmgmt.dto.AssigneeDto;
+import com.taskmgmt.dto.TaskListRequest;
+import com.taskmgmt.dto.TaskPageDto;
+import com.taskmgmt.dto.TaskResponseDto;
+import com.taskmgmt.entity.Role;
+import com.taskmgmt.entity.TaskStatus;
+import com.taskmgmt.security.AuthenticatedUser;
+import com.taskmgmt.service.TaskConflictException;
+import com.taskmgmt.service.TaskService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link TaskService} end to end (proxies, transactions, Hibernate, SQL) in a full application
+ * context on an embedded H2 database, migrated with the Flyway scripts and seeded with
+ * {@code rows} tasks. Pick sizes with {@code -Djmh.args="-p rows=1000 ..."}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class TaskServiceBenchmark {
+
+    private static final int USERS = 1_000;
+    private static final int ASSIGNEES_PER_CALL = 10;
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private DataSource dataSource;
+    private TaskService taskService;
+    private AuthenticatedUser admin;
+    private TaskListRequest firstPage;
+    private long userId;
+
+    // assignUsersToTask walks (task, block of users) pairs so every call inserts new rows
+    private long nextAssignment;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        context = SpringApplication.run(TaskManagementApplication.class,
+                "--spring.profiles.active=bench",
+                "--server.port=0",
+                "--spring.main.banner-mode=off",
+                "--spring.datasource.url=jdbc:h2:mem:service-" + rows + ";DB_CLOSE_DELAY=-1",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.hibernate.ddl-auto=validate",
+                "--jwt.secret=BenchmarkVeryStrongSecretKey1234567890!",
+                "--jwt.access-token-expiration=3600000",
+                "--jwt.refresh-token-expiration=86400000",
+                "--tasks.overdue.sweep-cron=-",
+                "--logging.level.root=WARN");
+
+        dataSource = context.getBean(DataSource.class);
+        try (Connection connection = dataSource.getConnection()) {
+            BenchmarkData.seed(connection, USERS, rows);
+        }
+        taskService = context.getBean(TaskService.class);
+        admin = new AuthenticatedUser(1L, "user1@example.com", null, Role.ADMIN);
+        firstPage = new TaskListRequest(null, null, null, null, 50);
+        userId = USERS / 2;
+    }
+
+    // Drop the rows added by assignUsersToTask so each iteration starts from the seeded data
+    @TearDown(Level.Iteration)
+    public void removeNewAssignments() throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement st = connection.createStatement()) {
+            st.execute("DELETE FROM task_assignees WHERE id > " + rows);
+        }
+        nextAssignment = 0;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public TaskPageDto getTasksForUser() {
+        return taskService.getTasksForUser(userId, firstPage);
+    }
+
+    @Benchmark
+    public TaskPageDto getAllTasks() {
+        return taskService.getAllTasks(firstPage);
+    }
+
+    @Benchmark
+    public List<AssigneeDto> assignUsersToTask() {
+        long call = nextAssignment++;
+        long taskId = 1 + call % rows;
+        long firstUser = 1 + ((call / rows) * ASSIGNEES_PER_CALL) % USERS;
+
+        List<Long> userIds = new ArrayList<>(ASSIGNEES_PER_CALL);
+        for (int i = 0; i < ASSIGNEES_PER_CALL; i++) {
+            userIds.add(1 + (firstUser - 1 + i) % USERS);
+        }
+        return taskService.assignUsersToTask(taskId, userIds, admin);
+    }
+
+    // 16 writers on one task: optimistic version check plus retries; a write that keeps losing ends as a conflict
+    @Benchmark
+    @Threads(16)
+    public TaskResponseDto updateStatusUnderContention() {
+        TaskStatus status = STATUSES[ThreadLocalRandom.current().nextInt(STATUSES.length)];
+        try {
+            return taskService.updateTaskStatus(1L, status, admin);
+        } catch (TaskConflictException e) {
+            return e.getCurrent();
+        }
+    }
+}
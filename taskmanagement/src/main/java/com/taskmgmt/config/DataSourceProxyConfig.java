@@ -0,0 +1,41 @@
+package com.taskmgmt.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application DataSource to count statements per thread (read per request by
+ * {@link QueryCountFilter}) and to report slow statements via {@link SlowQueryLogger}.
+ * Replaces spring.jpa.show-sql, which printed every statement synchronously.
+ */
+@Configuration
+public class DataSourceProxyConfig {
+
+    @Bean
+    public static BeanPostProcessor dataSourceProxyPostProcessor(Environment environment,
+                                                                 ObjectProvider<MeterRegistry> meterRegistry) {
+        long thresholdMillis = environment.getProperty("tasks.sql.slow-query-threshold", Long.class, 500L);
+        double sampleRate = environment.getProperty("tasks.sql.slow-query-sample-rate", Double.class, 1.0);
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name("taskdb")
+                            .countQuery()
+                            .listener(new SlowQueryLogger(thresholdMillis, sampleRate, meterRegistry))
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -2,6 +2,10 @@ package com.taskmgmt.config;
 
 import com.taskmgmt.security.CustomUserDetailsService;
 import com.taskmgmt.security.JwtFilter;
+import com.taskmgmt.security.RateLimitFilter;
+import com.taskmgmt.security.RateLimitProperties;
+import jakarta.servlet.DispatcherType;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -10,29 +14,48 @@ import org.springframework.security.config.annotation.authentication.configurati
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import java.util.Map;
+
 @Configuration
 @EnableMethodSecurity
 public class SecurityConfig {
 
     private final CustomUserDetailsService customUserDetailsService;
     private final JwtFilter jwtFilter;
+    private final RateLimitFilter rateLimitFilter;
 
-    public SecurityConfig(CustomUserDetailsService customUserDetailsService, JwtFilter jwtFilter) {
+    public SecurityConfig(CustomUserDetailsService customUserDetailsService,
+                          JwtFilter jwtFilter,
+                          RateLimitFilter rateLimitFilter) {
         this.customUserDetailsService = customUserDetailsService;
         this.jwtFilter = jwtFilter;
+        this.rateLimitFilter = rateLimitFilter;
+    }
+
+    // Registered under a plain name so RateLimitFilter's schedule can read it; static because the
+    // filter, injected above, depends on it
+    @Bean
+    public static RateLimitProperties rateLimitProperties() {
+        return new RateLimitProperties();
     }
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http.csrf(csrf -> csrf.disable())
                 .authorizeHttpRequests(auth -> auth
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll() // completion of an authorized SSE stream or export
+                        .dispatcherTypeMatchers(DispatcherType.ERROR).permitAll() // keep 401/429/503 from becoming 403
                         .requestMatchers("/api/auth/**").permitAll()       // public endpoints
                         .requestMatchers("/h2-console/**").permitAll()
+                        .requestMatchers("/actuator/health/**", "/actuator/prometheus").permitAll() // probes, scraper
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         .requestMatchers("/api/admin/**").hasRole("ADMIN") // admin endpoints
                         .requestMatchers("/api/user/**").hasRole("USER")   // user endpoints
                         .anyRequest().authenticated()
@@ -41,22 +64,41 @@ public class SecurityConfig {
 
 
         http.addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class);
+        http.addFilterAfter(rateLimitFilter, JwtFilter.class); // keyed by the JWT subject, else client IP
 
         return http.build();
     }
 
 
+    // New hashes use auth.password.algorithm ("{id}" prefixed); stored hashes keep matching with the
+    // encoder named in their prefix, and the old unprefixed bcrypt hashes with plain bcrypt. A hash
+    // from another algorithm or a lower bcrypt cost is re-encoded on the next successful login.
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${auth.password.algorithm:bcrypt}") String algorithm,
+                                           @Value("${auth.password.bcrypt.strength:10}") int bcryptStrength,
+                                           @Value("${auth.password.argon2.memory:19456}") int argon2MemoryKib,
+                                           @Value("${auth.password.argon2.iterations:2}") int argon2Iterations,
+                                           @Value("${auth.password.argon2.parallelism:1}") int argon2Parallelism) {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+        Map<String, PasswordEncoder> encoders = Map.of(
+                "bcrypt", bcrypt,
+                "argon2", new Argon2PasswordEncoder(16, 32, argon2Parallelism, argon2MemoryKib, argon2Iterations));
+        if (!encoders.containsKey(algorithm)) {
+            throw new IllegalStateException("Unknown auth.password.algorithm: " + algorithm);
+        }
+
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(algorithm, encoders);
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return encoder;
     }
 
 
     @Bean
-    public DaoAuthenticationProvider authenticationProvider() {
+    public DaoAuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(customUserDetailsService); // <-- use custom service
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setUserDetailsPasswordService(customUserDetailsService); // rehash on login
+        authProvider.setPasswordEncoder(passwordEncoder);
         return authProvider;
     }
 
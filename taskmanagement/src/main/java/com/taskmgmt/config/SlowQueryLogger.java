@@ -0,0 +1,50 @@
+package com.taskmgmt.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+/**
+ * Counts statements slower than the threshold and logs a sample of them (SQL text only, never the
+ * bound parameters). The logger is routed through an async appender in logback-spring.xml, so a
+ * burst of slow queries never blocks the JDBC thread on console output.
+ */
+@Slf4j(topic = "com.taskmgmt.sql.slow")
+class SlowQueryLogger implements QueryExecutionListener {
+
+    private final long thresholdMillis;
+    private final double sampleRate;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    SlowQueryLogger(long thresholdMillis, double sampleRate, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.thresholdMillis = thresholdMillis;
+        this.sampleRate = sampleRate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long elapsed = execInfo.getElapsedTime();
+        if (elapsed < thresholdMillis) {
+            return;
+        }
+        meterRegistry.ifAvailable(registry -> registry.counter("sql.slow.queries").increment());
+
+        if (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+        String sql = queryInfoList.stream().map(QueryInfo::getQuery).collect(Collectors.joining("; "));
+        log.warn("Slow query ({} ms, batch size {}): {}", elapsed, execInfo.getBatchSize(), sql);
+    }
+}
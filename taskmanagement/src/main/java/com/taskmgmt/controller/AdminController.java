@@ -1,13 +1,33 @@
 package com.taskmgmt.controller;
 
+import com.taskmgmt.dto.CacheStatsDto;
+import com.taskmgmt.dto.TaskExportRequest;
+import com.taskmgmt.dto.TaskImportResultDto;
+import com.taskmgmt.dto.TaskStatsDto;
 import com.taskmgmt.dto.UserResponseDto;
+import com.taskmgmt.security.AuthenticatedUser;
+import com.taskmgmt.security.JwtAuthenticationCache;
+import com.taskmgmt.service.HibernateCacheStats;
+import com.taskmgmt.service.TaskExportFormat;
+import com.taskmgmt.service.TaskExportService;
+import com.taskmgmt.service.TaskImportService;
+import com.taskmgmt.service.TaskStatsCounter;
 import com.taskmgmt.service.UserService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/admin")
@@ -15,6 +35,11 @@ import java.util.List;
 public class AdminController {
 
     private final UserService userService;
+    private final JwtAuthenticationCache jwtAuthenticationCache;
+    private final HibernateCacheStats hibernateCacheStats;
+    private final TaskStatsCounter taskStatsCounter;
+    private final TaskExportService taskExportService;
+    private final TaskImportService taskImportService;
 
     // Get all users
     @GetMapping("/users")
@@ -31,4 +56,56 @@ public class AdminController {
         UserResponseDto user = userService.getUserById(id);
         return ResponseEntity.ok(user);
     }
+
+    // Hit / miss / eviction counters of the in-memory caches
+    @GetMapping("/cache-stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<CacheStatsDto>> getCacheStats() {
+        List<CacheStatsDto> stats = new ArrayList<>();
+        stats.add(jwtAuthenticationCache.stats());
+        stats.addAll(hibernateCacheStats.stats());
+        return ResponseEntity.ok(stats);
+    }
+
+    // Task counts per status, assignee and creator plus overdue, served from memory
+    @GetMapping("/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<TaskStatsDto> getTaskStats() {
+        return ResponseEntity.ok(taskStatsCounter.stats());
+    }
+
+    // Download every task as NDJSON or CSV (?format=&gzip=&status=&dueFrom=&dueTo=&createdBy=),
+    // streamed from the database as it is read; gzip=true sends a .gz file
+    @GetMapping("/tasks/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportTasks(TaskExportRequest request) {
+        TaskExportFormat format = TaskExportFormat.of(request.getFormat());
+        String filename = "tasks." + format.extension() + (request.isGzip() ? ".gz" : "");
+
+        StreamingResponseBody body = out -> {
+            if (request.isGzip()) {
+                try (GZIPOutputStream gzip = new GZIPOutputStream(out, 64 * 1024)) {
+                    taskExportService.export(request, format, gzip);
+                }
+            } else {
+                taskExportService.export(request, format, out);
+            }
+        };
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_TYPE, request.isGzip() ? "application/gzip" : format.contentType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+
+    // Create tasks in bulk from a JSON array, NDJSON or CSV body (same fields as the export), read as it
+    // arrives; rows that fail validation are skipped and listed in the response, the others are saved
+    @PostMapping(path = "/tasks/import", consumes = {MediaType.APPLICATION_JSON_VALUE, "application/x-ndjson", "text/csv"})
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<TaskImportResultDto> importTasks(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                           InputStream body,
+                                                           @AuthenticationPrincipal AuthenticatedUser currentUser)
+            throws IOException {
+        return ResponseEntity.ok(taskImportService.importTasks(MediaType.parseMediaType(contentType), body, currentUser));
+    }
 }
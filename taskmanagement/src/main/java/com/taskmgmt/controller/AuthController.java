@@ -6,6 +6,8 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/api/auth")
 @RequiredArgsConstructor
@@ -14,12 +16,24 @@ public class AuthController {
     private final AuthService authService;
 
     @PostMapping("/register")
-    public ResponseEntity<String> register(@RequestBody RegisterRequestDto dto) {
-        return ResponseEntity.ok(authService.register(dto));
+    public CompletableFuture<ResponseEntity<String>> register(@RequestBody RegisterRequestDto dto) {
+        return authService.register(dto).thenApply(ResponseEntity::ok);
     }
 
     @PostMapping("/login")
-    public ResponseEntity<AuthResponseDto> login(@RequestBody LoginRequestDto dto) {
-        return ResponseEntity.ok(authService.login(dto));
+    public CompletableFuture<ResponseEntity<AuthResponseDto>> login(@RequestBody LoginRequestDto dto) {
+        return authService.login(dto).thenApply(ResponseEntity::ok);
+    }
+
+    // Rotates the refresh token: the one sent is spent, the response carries its replacement
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthResponseDto> refresh(@RequestBody RefreshRequestDto dto) {
+        return ResponseEntity.ok(authService.refresh(dto.getRefreshToken()));
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestBody RefreshRequestDto dto) {
+        authService.logout(dto.getRefreshToken());
+        return ResponseEntity.noContent().build();
     }
 }
@@ -0,0 +1,49 @@
+package com.taskmgmt.controller;
+
+import com.taskmgmt.dto.NotificationPageDto;
+import com.taskmgmt.dto.UnreadCountDto;
+import com.taskmgmt.security.AuthenticatedUser;
+import com.taskmgmt.service.NotificationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/notifications")
+@RequiredArgsConstructor
+public class NotificationController {
+
+    private final NotificationService notificationService;
+
+    // Inbox of the logged-in user, newest first (paged: ?cursor=&size=&unreadOnly=)
+    @GetMapping
+    public ResponseEntity<NotificationPageDto> getNotifications(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean unreadOnly,
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        return ResponseEntity.ok(notificationService.getNotifications(currentUser.getId(), cursor, size, unreadOnly));
+    }
+
+    // Badge count polled by the UI; answered from memory
+    @GetMapping("/unread-count")
+    public ResponseEntity<UnreadCountDto> getUnreadCount(@AuthenticationPrincipal AuthenticatedUser currentUser) {
+        return ResponseEntity.ok(notificationService.getUnreadCount(currentUser.getId()));
+    }
+
+    // Mark one notification read
+    @PutMapping("/{id}/read")
+    public ResponseEntity<Void> markRead(@PathVariable("id") Long notificationId,
+                                         @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        notificationService.markRead(currentUser.getId(), notificationId);
+        return ResponseEntity.noContent().build();
+    }
+
+    // Mark every notification read
+    @PutMapping("/read-all")
+    public ResponseEntity<Void> markAllRead(@AuthenticationPrincipal AuthenticatedUser currentUser) {
+        notificationService.markAllRead(currentUser.getId());
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -1,16 +1,28 @@
 package com.taskmgmt.controller;
 
 import com.taskmgmt.dto.*;
-import com.taskmgmt.entity.Role;
 import com.taskmgmt.entity.TaskStatus;
-import com.taskmgmt.entity.User;
-import com.taskmgmt.repository.UserRepository;
+import com.taskmgmt.security.AuthenticatedUser;
+import com.taskmgmt.security.JwtUtil;
+import com.taskmgmt.service.TaskConflictException;
+import com.taskmgmt.service.TaskEventStream;
+import com.taskmgmt.service.TaskListingWatermarks;
+import com.taskmgmt.service.TaskSearchIndex;
 import com.taskmgmt.service.TaskService;
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.util.Date;
 import java.util.List;
 
 @RestController
@@ -19,50 +31,106 @@ import java.util.List;
 public class TaskController {
 
     private final TaskService taskService;
-    private final UserRepository userRepository;
+    private final TaskEventStream taskEventStream;
+    private final TaskSearchIndex taskSearchIndex;
+    private final TaskListingWatermarks taskListingWatermarks;
+    private final JwtUtil jwtUtil;
 
-    // Get tasks for logged-in user
+    // Get tasks for logged-in user (paged: ?cursor=&size=&status=&dueFrom=&dueTo=)
+    // 304 without running the listing query when If-None-Match still matches the caller's watermark and parameters
     @GetMapping
-    public ResponseEntity<List<TaskResponseDto>> getTasks(Authentication authentication) {
-        String email = authentication.getName();
-
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    public ResponseEntity<TaskPageDto> getTasks(TaskListRequest request,
+                                                @AuthenticationPrincipal AuthenticatedUser currentUser,
+                                                WebRequest webRequest) {
+        String etag = taskListingWatermarks.tag(currentUser, request); // taken before the query, so it can only be older than the data
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
 
-        List<TaskResponseDto> tasks;
+        TaskPageDto page;
 
-        if (user.getRole() == Role.ADMIN) {
-            tasks = taskService.getAllTasks(); // Admin sees all tasks
+        if (currentUser.isAdmin()) {
+            page = taskService.getAllTasks(request); // Admin sees all tasks
         } else {
-            tasks = taskService.getTasksForUser(email); // User sees assigned tasks
+            page = taskService.getTasksForUser(currentUser.getId(), request); // User sees assigned tasks
         }
 
-        return ResponseEntity.ok(tasks);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .eTag(etag)
+                .body(page);
+    }
+
+    // Full-text search over title and description, best match first (?q=&page=&size=)
+    @GetMapping("/search")
+    public ResponseEntity<TaskSearchPageDto> searchTasks(@RequestParam("q") String query,
+                                                         @RequestParam(value = "page", required = false) Integer page,
+                                                         @RequestParam(value = "size", required = false) Integer size,
+                                                         @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        return ResponseEntity.ok(taskSearchIndex.search(query, currentUser, page, size));
+    }
+
+    // Live task-created / status-changed / assignee-added events for tasks the user owns or is assigned to
+    // The stream ends when the access token expires or its session is revoked, so the claims are read again here
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamTaskChanges(@AuthenticationPrincipal AuthenticatedUser currentUser,
+                                        @RequestHeader(HttpHeaders.AUTHORIZATION) String authorization) {
+        Claims claims = jwtUtil.parseVerifiedClaims(authorization.substring("Bearer ".length()).trim())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED));
+        Date expiration = claims.getExpiration();
+        return taskEventStream.subscribe(currentUser.getId(), claims.get(JwtUtil.SESSION_ID_CLAIM, String.class),
+                expiration != null ? expiration.toInstant() : null);
     }
 
     // Create a new task
     @PostMapping
     public ResponseEntity<TaskResponseDto> createTask(
             @RequestBody TaskRequestDto dto,
-            Authentication authentication
+            @AuthenticationPrincipal AuthenticatedUser currentUser
     ) {
-        String adminEmail = authentication.getName();
-        TaskResponseDto response = taskService.createTaskByAdmin(dto, adminEmail);
+        TaskResponseDto response = taskService.createTaskByAdmin(dto, currentUser);
         return ResponseEntity.ok(response);
     }
 
     // Update task status (Admin or assigned user)
+    // Optional precondition: If-Match: "<version>" (or "version" in the body); 409 + current task if it moved on
     @PutMapping("/{id}")
     public ResponseEntity<TaskResponseDto> updateTaskStatus(
             @PathVariable("id") Long taskId,
             @RequestBody UpdateStatusRequest request,
-            Authentication authentication
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @AuthenticationPrincipal AuthenticatedUser currentUser
     ) {
-        String loggedInUserEmail = authentication.getName();
+        Long expectedVersion = ifMatch != null ? parseVersion(ifMatch) : request.getVersion();
         TaskResponseDto response = taskService.updateTaskStatus(
                 taskId,
                 TaskStatus.valueOf(request.getStatus()),
-                loggedInUserEmail
+                expectedVersion,
+                currentUser
+        );
+        return ResponseEntity.ok().eTag(String.valueOf(response.getVersion())).body(response);
+    }
+
+    // Lost an update race: the caller gets the task as it is now, and its version as ETag
+    @ExceptionHandler(TaskConflictException.class)
+    public ResponseEntity<TaskResponseDto> taskConflict(TaskConflictException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .eTag(String.valueOf(e.getCurrent().getVersion()))
+                .body(e.getCurrent());
+    }
+
+
+
+    // Update status of many tasks in one call (per-task result in the response)
+    @PutMapping("/bulk-status")
+    public ResponseEntity<BulkStatusUpdateResponse> bulkUpdateStatus(
+            @RequestBody BulkStatusUpdateRequest request,
+            @AuthenticationPrincipal AuthenticatedUser currentUser
+    ) {
+        BulkStatusUpdateResponse response = taskService.bulkUpdateStatus(
+                request.getTaskIds(),
+                TaskStatus.valueOf(request.getStatus()),
+                currentUser
         );
         return ResponseEntity.ok(response);
     }
@@ -74,10 +142,25 @@ public class TaskController {
     public ResponseEntity<List<AssigneeDto>> assignUsersToTask(
             @PathVariable Long taskId,
             @RequestBody AssignUsersRequest request,
-            Authentication authentication) {
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
 
-        List<AssigneeDto> assignedUsers = taskService.assignUsersToTask(taskId, request.getAssigneeIds(), authentication.getName());
+        List<AssigneeDto> assignedUsers = taskService.assignUsersToTask(taskId, request.getAssigneeIds(), currentUser);
         return ResponseEntity.ok(assignedUsers);
     }
 
+    // "*" matches any version; otherwise a (possibly weak) ETag holding the task's version
+    private static Long parseVersion(String ifMatch) {
+        String tag = ifMatch.trim();
+        if (tag.equals("*")) {
+            return null;
+        }
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        try {
+            return Long.valueOf(tag.replace("\"", ""));
+        } catch (NumberFormatException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "If-Match must be a task version");
+        }
+    }
 }
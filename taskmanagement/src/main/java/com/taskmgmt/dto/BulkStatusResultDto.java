@@ -0,0 +1,13 @@
+package com.taskmgmt.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkStatusResultDto {
+    private Long taskId;
+    private String result; // UPDATED, NOT_FOUND, FORBIDDEN
+}
@@ -0,0 +1,16 @@
+package com.taskmgmt.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class NotificationPageDto {
+    private List<NotificationDto> notifications;
+    private String nextCursor; // null on the last page
+    private long unreadCount;
+}
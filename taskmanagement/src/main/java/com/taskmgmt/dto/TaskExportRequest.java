@@ -0,0 +1,28 @@
+package com.taskmgmt.dto;
+
+import com.taskmgmt.entity.TaskStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+// Query parameters of GET /api/admin/tasks/export: output format, optional gzip and filters
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TaskExportRequest {
+    private String format = "ndjson";   // ndjson or csv
+    private boolean gzip;
+
+    private TaskStatus status;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate dueFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate dueTo;
+
+    private Long createdBy;
+}
@@ -0,0 +1,13 @@
+package com.taskmgmt.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TaskImportErrorDto {
+    private long row;        // 1-based: array element, NDJSON line or CSV record after the header
+    private String message;
+}
@@ -0,0 +1,17 @@
+package com.taskmgmt.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TaskImportResultDto {
+    private long rows;
+    private long imported;
+    private long failed;
+    private List<TaskImportErrorDto> errors;  // first tasks.import.max-errors failures, in row order
+}
@@ -0,0 +1,26 @@
+package com.taskmgmt.dto;
+
+import com.taskmgmt.entity.TaskStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+// Query parameters of GET /api/tasks: optional filters plus the keyset cursor
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TaskListRequest {
+    private TaskStatus status;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate dueFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate dueTo;
+
+    private String cursor;   // nextCursor from the previous page, empty for the first page
+    private Integer size;
+}
@@ -0,0 +1,15 @@
+package com.taskmgmt.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TaskPageDto {
+    private List<TaskResponseDto> tasks;
+    private String nextCursor; // null on the last page
+}
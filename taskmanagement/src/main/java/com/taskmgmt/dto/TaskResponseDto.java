@@ -1,6 +1,7 @@
 package com.taskmgmt.dto;
 
 import com.taskmgmt.entity.Task;
+import com.taskmgmt.entity.TaskStatus;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -18,6 +19,13 @@ public class TaskResponseDto {
     private LocalDate dueDate;
     private Long createdById;
     private String createdByName;
+    private Long version;
+
+    // Used by JPQL constructor expressions, so listings never materialize Task/User entities
+    public TaskResponseDto(Long id, String title, String description, TaskStatus status,
+                           LocalDate dueDate, Long createdById, String createdByName, Long version) {
+        this(id, title, description, status.name(), dueDate, createdById, createdByName, version);
+    }
 
     public static TaskResponseDto fromEntity(Task task) {
         return new TaskResponseDto(
@@ -27,7 +35,8 @@ public class TaskResponseDto {
                 task.getStatus().name(),
                 task.getDueDate(),
                 task.getCreatedBy().getId(),
-                task.getCreatedBy().getName()
+                task.getCreatedBy().getName(),
+                task.getVersion()
         );
     }
 }
@@ -0,0 +1,17 @@
+package com.taskmgmt.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// One page of search results, best match first
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TaskSearchPageDto {
+    private List<TaskResponseDto> tasks;
+    private int page;
+    private boolean hasMore;
+}
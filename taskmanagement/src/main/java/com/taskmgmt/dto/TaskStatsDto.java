@@ -0,0 +1,22 @@
+package com.taskmgmt.dto;
+
+import com.taskmgmt.entity.TaskStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+// Task counts for the admin dashboard; user maps are keyed by user id
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TaskStatsDto {
+    private long total;
+    private Map<TaskStatus, Long> byStatus;
+    private long overdue;
+    private Map<Long, Long> byAssignee;
+    private Map<Long, Long> byCreator;
+    private LocalDateTime reconciledAt;
+}
@@ -5,4 +5,5 @@ import lombok.Data;
 @Data
 public class UpdateStatusRequest {
     private String status;  // TODO, IN_PROGRESS, DONE
+    private Long version;   // optional: only update if the task is still at this version (as If-Match)
 }
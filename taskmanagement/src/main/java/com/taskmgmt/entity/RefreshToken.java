@@ -0,0 +1,56 @@
+package com.taskmgmt.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// One issued refresh token; the token itself is never stored, only its SHA-256
+@Entity
+@Table(name = "refresh_tokens")
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RefreshToken {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true)
+    @ToString.Exclude
+    private String tokenHash;
+
+    // Shared by all tokens rotated from the same login; the "sid" of its access tokens
+    @Column(nullable = false)
+    private String familyId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    @ToString.Exclude
+    private User user;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    // Set once the token has been exchanged; presenting it again revokes the family
+    private boolean used;
+
+    private LocalDateTime revokedAt;
+
+    // Id-based, like Task
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        return o instanceof RefreshToken other && id != null && id.equals(other.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return RefreshToken.class.hashCode();
+    }
+}
@@ -0,0 +1,24 @@
+package com.taskmgmt.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+// How far a periodic sweep got on a given day (rows are seeded by the migrations)
+@Entity
+@Table(name = "sweep_checkpoints")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SweepCheckpoint {
+    @Id
+    private String name;
+
+    private LocalDate sweepDate;
+
+    private long lastTaskId;
+
+    private boolean completed;
+}
@@ -2,18 +2,31 @@ package com.taskmgmt.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.Instant;
 import java.time.LocalDate;
 import java.util.List;
 
 @Entity
-@Table(name = "tasks")
-@Data
+@Table(name = "tasks", indexes = {
+        @Index(name = "idx_tasks_status_due_date", columnList = "status, due_date"),
+        @Index(name = "idx_tasks_created_by", columnList = "created_by"),
+        @Index(name = "idx_tasks_created_at", columnList = "created_at")
+})
+@Getter
+@Setter
+@ToString
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "tasks")
+// Task plus its creator in one query, for use cases that map the task to a TaskResponseDto
+@NamedEntityGraph(name = "Task.creator", attributeNodes = @NamedAttributeNode("createdBy"))
 public class Task {
+    // Database-assigned, so ids follow insertion order on every instance: listings page newest first
+    // by id (TaskRepository.findPage). The import batches its inserts and reads the keys back
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -28,20 +41,43 @@ public class Task {
 
     private LocalDate dueDate;
 
+    @Builder.Default
     private Instant createdAt = Instant.now();
 
+    // Bumped by every write (bulk updates included); part of each task's representation
+    @Version
+    private Long version;
 
 
 
-    @ManyToOne
+
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "created_by", nullable = false)
+    @ToString.Exclude
     private User createdBy;
 
 
     @OneToMany(mappedBy = "task", cascade = CascadeType.ALL)
+    @ToString.Exclude
     private List<TaskAssignee> assignees;
 
 
     @OneToMany(mappedBy = "task", cascade = CascadeType.ALL)
+    @ToString.Exclude
     private List<Notification> notifications;
+
+    // Identity is the database id (equal once saved, never while transient) and the hash is constant,
+    // so equality never touches lazy associations and a Task keeps its hash bucket when it gets an id
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        return o instanceof Task other && id != null && id.equals(other.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Task.class.hashCode();
+    }
 }
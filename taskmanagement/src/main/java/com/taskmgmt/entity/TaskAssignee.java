@@ -3,22 +3,60 @@ package com.taskmgmt.entity;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.time.Instant;
+
 @Entity
-@Table(name = "task_assignees")
-@Data
+@Table(name = "task_assignees",
+        uniqueConstraints = @UniqueConstraint(name = "uk_task_assignees_task_user", columnNames = {"task_id", "user_id"}),
+        indexes = {
+                @Index(name = "idx_task_assignees_user_task", columnList = "user_id, task_id"),
+                @Index(name = "idx_task_assignees_created_at", columnList = "created_at")
+        })
+@Getter
+@Setter
+@ToString
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+// Assignees of a task (with their users), and a user's assignments (with each task and its creator)
+@NamedEntityGraph(name = "TaskAssignee.user", attributeNodes = @NamedAttributeNode("user"))
+@NamedEntityGraph(name = "TaskAssignee.task",
+        attributeNodes = @NamedAttributeNode(value = "task", subgraph = "task.creator"),
+        subgraphs = @NamedSubgraph(name = "task.creator", attributeNodes = @NamedAttributeNode("createdBy")))
 public class TaskAssignee {
+    // Table-backed pooled ids (50 per round trip) so inserts can be JDBC-batched; IDENTITY cannot
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "task_assignee_ids")
+    @TableGenerator(name = "task_assignee_ids", table = "id_generators",
+            pkColumnName = "gen_name", valueColumnName = "gen_value",
+            pkColumnValue = "task_assignees", allocationSize = 50)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "task_id", nullable = false)
+    @ToString.Exclude
     private Task task;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
+    @ToString.Exclude
     private User user;
+
+    // Lets the search index pick up assignments it was not told about (TaskSearchIndex.catchUp)
+    @Builder.Default
+    private Instant createdAt = Instant.now();
+
+    // Id-based, like Task
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        return o instanceof TaskAssignee other && id != null && id.equals(other.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return TaskAssignee.class.hashCode();
+    }
 }
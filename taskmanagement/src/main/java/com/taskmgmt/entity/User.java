@@ -1,16 +1,26 @@
 package com.taskmgmt.entity;
 
+import com.taskmgmt.security.UserCacheEvictionListener;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 import java.util.List;
 
 @Entity
 @Table(name = "users")
-@Data
+@Getter
+@Setter
+@ToString
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
+@NaturalIdCache(region = "users-by-email")
+@EntityListeners(UserCacheEvictionListener.class) // drops cached JWT principals on update/delete
 public class User {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -18,9 +28,12 @@ public class User {
 
     private String name;
 
+    // Login name; resolved through the natural-id cache, so it must never change once saved
+    @NaturalId
     @Column(unique = true, nullable = false)
     private String email;
 
+    @ToString.Exclude
     private String password;
 
     @Enumerated(EnumType.STRING)
@@ -28,9 +41,25 @@ public class User {
 
     // Tasks created by this user
     @OneToMany(mappedBy = "createdBy", cascade = CascadeType.ALL)
+    @ToString.Exclude
     private List<Task> createdTasks;
 
     // Tasks assigned to this user (via TaskAssignee)
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL)
+    @ToString.Exclude
     private List<TaskAssignee> assignments;
+
+    // Id-based, like Task
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        return o instanceof User other && id != null && id.equals(other.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return User.class.hashCode();
+    }
 }
@@ -0,0 +1,8 @@
+package com.taskmgmt.event;
+
+/**
+ * Published by {@code RevokedSessions} when a login session is revoked, on this instance or (found
+ * on reload) on another one. {@code sessionId} is the {@code sid} claim of the session's access tokens.
+ */
+public record SessionRevokedEvent(String sessionId) {
+}
@@ -0,0 +1,14 @@
+package com.taskmgmt.event;
+
+import java.util.List;
+
+/**
+ * Published by {@code TaskService} whenever tasks are created or changed. Carries ids only, so
+ * publishing costs nothing; listeners load whatever state they need once the change has committed.
+ */
+public record TaskChangeEvent(TaskChangeType type, List<Long> taskIds) {
+
+    public static TaskChangeEvent of(TaskChangeType type, Long taskId) {
+        return new TaskChangeEvent(type, List.of(taskId));
+    }
+}
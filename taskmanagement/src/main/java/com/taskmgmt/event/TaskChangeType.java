@@ -0,0 +1,18 @@
+package com.taskmgmt.event;
+
+public enum TaskChangeType {
+    CREATED("task-created"),
+    STATUS_CHANGED("status-changed"),
+    ASSIGNEES_ADDED("assignee-added");
+
+    private final String eventName;
+
+    TaskChangeType(String eventName) {
+        this.eventName = eventName;
+    }
+
+    // Name of the server-sent event pushed to subscribers
+    public String eventName() {
+        return eventName;
+    }
+}
@@ -0,0 +1,4 @@
+package com.taskmgmt.repository;
+
+public record AssignmentView(Long taskId, Long userId) {
+}
@@ -1,13 +1,54 @@
 // NotificationRepository.java
 package com.taskmgmt.repository;
 
+import com.taskmgmt.dto.NotificationDto;
 import com.taskmgmt.entity.Notification;
 import com.taskmgmt.entity.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
 
     List<Notification> findByUser(User user);
+
+    boolean existsByIdAndUserId(Long id, Long userId);
+
+    // Newest-first keyset page of a user's inbox, optionally unread only
+    @Query("""
+            SELECT new com.taskmgmt.dto.NotificationDto(n.id, n.message, n.createdAt, n.task.id, n.read)
+            FROM Notification n
+            WHERE n.user.id = :userId
+              AND n.id < :beforeId
+              AND (:unreadOnly = false OR n.read = false)
+            ORDER BY n.id DESC
+            """)
+    List<NotificationDto> findPage(@Param("userId") Long userId,
+                                   @Param("beforeId") Long beforeId,
+                                   @Param("unreadOnly") boolean unreadOnly,
+                                   Limit limit);
+
+    // Returns 1 only when this call flipped the flag, so the unread counter is decremented once
+    @Modifying
+    @Query("UPDATE Notification n SET n.read = true WHERE n.id = :id AND n.user.id = :userId AND n.read = false")
+    int markRead(@Param("id") Long id, @Param("userId") Long userId);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.read = true WHERE n.user.id = :userId AND n.read = false")
+    int markAllRead(@Param("userId") Long userId);
+
+    @Query("SELECT COUNT(n) FROM Notification n WHERE n.user.id = :userId AND n.read = false")
+    long countUnread(@Param("userId") Long userId);
+
+    @Query("""
+            SELECT new com.taskmgmt.repository.UnreadCountView(n.user.id, COUNT(n))
+            FROM Notification n
+            WHERE n.read = false
+            GROUP BY n.user.id
+            """)
+    List<UnreadCountView> countUnreadByUser();
 }
@@ -0,0 +1,6 @@
+package com.taskmgmt.repository;
+
+import java.time.LocalDate;
+
+public record OverdueTaskView(Long id, String title, LocalDate dueDate) {
+}
@@ -0,0 +1,42 @@
+package com.taskmgmt.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Reserves runs of ids from the id_generators table for rows written with plain JDBC, alongside
+ * entities that take their ids from the same row through a pooled @TableGenerator.
+ *
+ * Hibernate's pooled optimizer reads the stored value v, stores v + allocationSize and hands out
+ * v - allocationSize + 1 .. v. Storing v + n * allocationSize instead takes n such blocks at once,
+ * so the ids v - allocationSize + 1 .. v + (n - 1) * allocationSize are never handed out by
+ * Hibernate. The row is locked only for the read and update, in a transaction of their own.
+ */
+@Component
+public class PooledIdAllocator {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate ownTransaction;
+
+    public PooledIdAllocator(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.ownTransaction = new TransactionTemplate(transactionManager);
+        this.ownTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    // First of count consecutive ids reserved from generator genName (the entity's pkColumnValue)
+    public long allocate(String genName, int allocationSize, int count) {
+        int blocks = (count + allocationSize - 1) / allocationSize;
+        Long stored = ownTransaction.execute(tx -> {
+            Long value = jdbcTemplate.queryForObject(
+                    "SELECT gen_value FROM id_generators WHERE gen_name = ? FOR UPDATE", Long.class, genName);
+            jdbcTemplate.update("UPDATE id_generators SET gen_value = ? WHERE gen_name = ?",
+                    value + (long) blocks * allocationSize, genName);
+            return value;
+        });
+        return stored - allocationSize + 1;
+    }
+}
@@ -0,0 +1,7 @@
+package com.taskmgmt.repository;
+
+import com.taskmgmt.entity.TaskStatus;
+
+// Number of tasks in one status
+public record StatusCountView(TaskStatus status, long count) {
+}
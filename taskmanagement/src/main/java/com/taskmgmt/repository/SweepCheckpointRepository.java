@@ -0,0 +1,18 @@
+package com.taskmgmt.repository;
+
+import com.taskmgmt.entity.SweepCheckpoint;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface SweepCheckpointRepository extends JpaRepository<SweepCheckpoint, String> {
+
+    // Row lock held for the rest of the transaction, so sweeps on several nodes never overlap
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM SweepCheckpoint c WHERE c.name = :name")
+    Optional<SweepCheckpoint> findForUpdate(@Param("name") String name);
+}
@@ -0,0 +1,9 @@
+package com.taskmgmt.repository;
+
+import com.taskmgmt.entity.TaskStatus;
+
+import java.time.LocalDate;
+
+// A task id plus whether a given user owns it or is assigned to it, and its current status and due date
+public record TaskAccessView(Long id, boolean ownerOrAssignee, TaskStatus status, LocalDate dueDate) {
+}
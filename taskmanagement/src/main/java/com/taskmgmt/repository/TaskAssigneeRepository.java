@@ -1,18 +1,72 @@
 package com.taskmgmt.repository;
 
+import com.taskmgmt.dto.TaskResponseDto;
 import com.taskmgmt.entity.TaskAssignee;
 import com.taskmgmt.entity.Task;
+import com.taskmgmt.entity.TaskStatus;
 import com.taskmgmt.entity.User;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface TaskAssigneeRepository extends JpaRepository<TaskAssignee, Long> {
+    // A task's assignees come with their users (TaskAssignee.user), a user's assignments with each
+    // task and its creator (TaskAssignee.task): one query per call however many rows match
+    @EntityGraph("TaskAssignee.user")
     List<TaskAssignee> findByTask(Task task);
+    @EntityGraph("TaskAssignee.user")
     List<TaskAssignee> findByTaskId(Long taskId);
+    @EntityGraph("TaskAssignee.task")
     List<TaskAssignee> findByUser(User user);
+    boolean existsByTaskIdAndUserId(Long taskId, Long userId);
+
+    @Query("SELECT a.user.id FROM TaskAssignee a WHERE a.task.id = :taskId AND a.user.id IN :userIds")
+    List<Long> findAssignedUserIds(@Param("taskId") Long taskId, @Param("userIds") Collection<Long> userIds);
     boolean existsByTaskAndUser(Task task, User user);
     Optional<TaskAssignee> findByTaskAndUser(Task task, User user);
 
+    @Query("SELECT new com.taskmgmt.repository.AssignmentView(a.task.id, a.user.id)"
+            + " FROM TaskAssignee a WHERE a.task.id IN :taskIds")
+    List<AssignmentView> findAssignments(@Param("taskIds") Collection<Long> taskIds);
+
+    // Range scan of uk_task_assignees_task_user, for dense runs of task ids
+    @Query("SELECT new com.taskmgmt.repository.AssignmentView(a.task.id, a.user.id)"
+            + " FROM TaskAssignee a WHERE a.task.id BETWEEN :fromId AND :toId")
+    List<AssignmentView> findAssignmentsBetween(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    @Query("SELECT DISTINCT a.user.id FROM TaskAssignee a WHERE a.task.id IN :taskIds ORDER BY a.user.id")
+    List<Long> findAssigneeIds(@Param("taskIds") Collection<Long> taskIds);
+
+    // Tasks that gained an assignee from the given instant on (idx_task_assignees_created_at)
+    @Query("SELECT DISTINCT a.task.id FROM TaskAssignee a WHERE a.createdAt >= :since")
+    List<Long> findTaskIdsAssignedSince(@Param("since") Instant since);
+
+    @Query("SELECT new com.taskmgmt.repository.UserTaskCountView(a.user.id, COUNT(a)) FROM TaskAssignee a"
+            + " GROUP BY a.user.id")
+    List<UserTaskCountView> countByAssignee();
+
+    // Keyset page of the tasks assigned to a user, newest first (same contract as TaskRepository.findPage)
+    @Query("SELECT new com.taskmgmt.dto.TaskResponseDto("
+            + "t.id, t.title, t.description, t.status, t.dueDate, u.id, u.name, t.version)"
+            + " FROM TaskAssignee a JOIN a.task t JOIN t.createdBy u"
+            + " WHERE a.user.id = :userId"
+            + " AND t.id < :beforeId"
+            + " AND (:status IS NULL OR t.status = :status)"
+            + " AND (:dueFrom IS NULL OR t.dueDate >= :dueFrom)"
+            + " AND (:dueTo IS NULL OR t.dueDate <= :dueTo)"
+            + " ORDER BY t.id DESC")
+    List<TaskResponseDto> findTaskPageForUser(@Param("userId") Long userId,
+                                              @Param("beforeId") Long beforeId,
+                                              @Param("status") TaskStatus status,
+                                              @Param("dueFrom") LocalDate dueFrom,
+                                              @Param("dueTo") LocalDate dueTo,
+                                              Limit limit);
 }
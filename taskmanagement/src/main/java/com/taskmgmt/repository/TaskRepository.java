@@ -1,15 +1,102 @@
 package com.taskmgmt.repository;
 
+import com.taskmgmt.dto.TaskResponseDto;
 import com.taskmgmt.entity.Task;
 import com.taskmgmt.entity.TaskStatus;
 import com.taskmgmt.entity.User;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface TaskRepository extends JpaRepository<Task, Long> {
+    // Entity reads fetch the creator with the task (Task.creator), so mapping them to DTOs costs no extra query
+    @EntityGraph("Task.creator")
     List<Task> findByStatus(com.taskmgmt.entity.TaskStatus status);
+    @EntityGraph("Task.creator")
     List<Task> findByDueDateBeforeAndStatusNot(LocalDate date, com.taskmgmt.entity.TaskStatus done); // for overdue
     List<Task> findByCreatedBy(User user);
+
+    // Status update: one query, bypassing the second-level cache so the version checked is the current one
+    @EntityGraph("Task.creator")
+    Optional<Task> findWithCreatorById(Long id);
+
+    // Keyset page, newest first: pass Long.MAX_VALUE for the first page, then the last id seen
+    @Query("SELECT new com.taskmgmt.dto.TaskResponseDto("
+            + "t.id, t.title, t.description, t.status, t.dueDate, u.id, u.name, t.version)"
+            + " FROM Task t JOIN t.createdBy u"
+            + " WHERE t.id < :beforeId"
+            + " AND (:status IS NULL OR t.status = :status)"
+            + " AND (:dueFrom IS NULL OR t.dueDate >= :dueFrom)"
+            + " AND (:dueTo IS NULL OR t.dueDate <= :dueTo)"
+            + " ORDER BY t.id DESC")
+    List<TaskResponseDto> findPage(@Param("beforeId") Long beforeId,
+                                   @Param("status") TaskStatus status,
+                                   @Param("dueFrom") LocalDate dueFrom,
+                                   @Param("dueTo") LocalDate dueTo,
+                                   Limit limit);
+
+    @Query("SELECT new com.taskmgmt.dto.TaskResponseDto("
+            + "t.id, t.title, t.description, t.status, t.dueDate, u.id, u.name, t.version)"
+            + " FROM Task t JOIN t.createdBy u WHERE t.id IN :ids")
+    List<TaskResponseDto> findDtosByIds(@Param("ids") Collection<Long> ids);
+
+    // Existing ids among :ids, each flagged with whether :userId owns or is assigned the task
+    @Query("SELECT new com.taskmgmt.repository.TaskAccessView(t.id,"
+            + " CASE WHEN t.createdBy.id = :userId"
+            + " OR EXISTS (SELECT 1 FROM TaskAssignee a WHERE a.task = t AND a.user.id = :userId)"
+            + " THEN true ELSE false END, t.status, t.dueDate)"
+            + " FROM Task t WHERE t.id IN :ids")
+    List<TaskAccessView> findAccess(@Param("ids") Collection<Long> ids, @Param("userId") Long userId);
+
+    @Modifying
+    @Query("UPDATE Task t SET t.status = :status, t.version = t.version + 1 WHERE t.id IN :ids")
+    int updateStatus(@Param("ids") Collection<Long> ids, @Param("status") TaskStatus status);
+
+    // Keyset scan of overdue, not-done tasks in id order, one chunk at a time
+    @Query("SELECT new com.taskmgmt.repository.OverdueTaskView(t.id, t.title, t.dueDate) FROM Task t"
+            + " WHERE t.dueDate < :today AND t.status <> :done AND t.id > :afterId"
+            + " ORDER BY t.id")
+    List<OverdueTaskView> findOverdueAfter(@Param("today") LocalDate today,
+                                           @Param("done") TaskStatus done,
+                                           @Param("afterId") Long afterId,
+                                           Limit limit);
+
+    // Keyset scan of the searchable text in (afterId, toId], used to (re)build the search index
+    @Query("SELECT new com.taskmgmt.repository.TaskSearchView(t.id, t.title, t.description) FROM Task t"
+            + " WHERE t.id > :afterId AND t.id <= :toId ORDER BY t.id")
+    List<TaskSearchView> findSearchChunk(@Param("afterId") Long afterId,
+                                         @Param("toId") Long toId,
+                                         Limit limit);
+
+    // Tasks created from the given instant on (idx_tasks_created_at), for the search index catch-up
+    @Query("SELECT t.id FROM Task t WHERE t.createdAt >= :since")
+    List<Long> findIdsCreatedSince(@Param("since") Instant since);
+
+    @Query("SELECT new com.taskmgmt.repository.TaskSearchView(t.id, t.title, t.description) FROM Task t"
+            + " WHERE t.id IN :ids")
+    List<TaskSearchView> findSearchViews(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT COALESCE(MAX(t.id), 0) FROM Task t")
+    long findMaxId();
+
+    // Full counts behind the in-memory task statistics (TaskStatsCounter)
+    @Query("SELECT new com.taskmgmt.repository.StatusCountView(t.status, COUNT(t)) FROM Task t"
+            + " WHERE t.status IS NOT NULL GROUP BY t.status")
+    List<StatusCountView> countByStatus();
+
+    @Query("SELECT new com.taskmgmt.repository.UserTaskCountView(t.createdBy.id, COUNT(t)) FROM Task t"
+            + " GROUP BY t.createdBy.id")
+    List<UserTaskCountView> countByCreator();
+
+    @Query("SELECT COUNT(t) FROM Task t WHERE t.dueDate < :today AND t.status <> :done")
+    long countOverdue(@Param("today") LocalDate today, @Param("done") TaskStatus done);
 }
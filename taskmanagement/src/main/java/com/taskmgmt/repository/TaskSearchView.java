@@ -0,0 +1,4 @@
+package com.taskmgmt.repository;
+
+public record TaskSearchView(Long id, String title, String description) {
+}
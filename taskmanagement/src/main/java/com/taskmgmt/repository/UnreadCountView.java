@@ -0,0 +1,5 @@
+package com.taskmgmt.repository;
+
+// Number of unread notifications held by one user
+public record UnreadCountView(Long userId, long unread) {
+}
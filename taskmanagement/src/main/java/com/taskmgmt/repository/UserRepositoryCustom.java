@@ -0,0 +1,9 @@
+package com.taskmgmt.repository;
+
+import com.taskmgmt.entity.User;
+
+import java.util.Optional;
+
+public interface UserRepositoryCustom {
+    Optional<User> findByEmail(String email);
+}
@@ -0,0 +1,5 @@
+package com.taskmgmt.repository;
+
+// Number of tasks related to one user (created by or assigned to, depending on the query)
+public record UserTaskCountView(Long userId, long count) {
+}
@@ -0,0 +1,143 @@
+package com.taskmgmt.security;
+
+import com.taskmgmt.dto.CacheStatsDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Bounded cache of already verified access tokens and the principal they resolved to: id, email and
+ * role only, never the password hash. Entries are keyed by a SHA-256 hash of the token (the raw
+ * token is never stored) and expire at the configured TTL or the token's own {@code exp}, whichever
+ * comes first; they are evicted earlier when their session is revoked or their user changes.
+ */
+@Component
+public class JwtAuthenticationCache {
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    private final int maxSize;
+    private final long ttlMillis;
+
+    public JwtAuthenticationCache(@Value("${jwt.cache.max-size:10000}") int maxSize,
+                                  @Value("${jwt.cache.ttl:300000}") long ttlMillis) {
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+    }
+
+    // Returns the cached user for this token, or null if it is unknown or expired
+    public AuthenticatedUser get(String token) {
+        String key = hash(token);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        if (entry.expiresAt <= System.currentTimeMillis()) {
+            if (entries.remove(key, entry)) {
+                evictions.incrementAndGet();
+            }
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return entry.principal;
+    }
+
+    public void put(String token, AuthenticatedUser principal, Date tokenExpiration) {
+        put(token, principal, tokenExpiration, null);
+    }
+
+    // sessionId is the token's sid claim, if any, so a revoked session can be evicted
+    public void put(String token, AuthenticatedUser principal, Date tokenExpiration, String sessionId) {
+        if (maxSize <= 0) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long expiresAt = now + ttlMillis;
+        if (tokenExpiration != null) {
+            expiresAt = Math.min(expiresAt, tokenExpiration.getTime());
+        }
+        if (expiresAt <= now) {
+            return;
+        }
+        if (entries.size() >= maxSize) {
+            makeRoom(now);
+        }
+        entries.put(hash(token), new Entry(principal.withoutPassword(), sessionId, expiresAt));
+    }
+
+    // A full scan, but it only runs on logout / token reuse
+    public void evictSession(String sessionId) {
+        evictIf(entry -> sessionId.equals(entry.sessionId));
+    }
+
+    // After the user's password, role or account changed; also a full scan, on rare writes only
+    public void evictUser(Long userId) {
+        evictIf(entry -> userId.equals(entry.principal.getId()));
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public CacheStatsDto stats() {
+        return new CacheStatsDto("jwt-authentication", hits.get(), misses.get(), evictions.get(), entries.size());
+    }
+
+    private void evictIf(Predicate<Entry> condition) {
+        entries.values().removeIf(entry -> {
+            boolean match = condition.test(entry);
+            if (match) {
+                evictions.incrementAndGet();
+            }
+            return match;
+        });
+    }
+
+    // Drop expired entries first; if the cache is still full, shed roughly a tenth of it
+    private void makeRoom(long now) {
+        entries.entrySet().removeIf(e -> {
+            boolean expired = e.getValue().expiresAt <= now;
+            if (expired) {
+                evictions.incrementAndGet();
+            }
+            return expired;
+        });
+
+        int toRemove = entries.size() - maxSize + Math.max(1, maxSize / 10);
+        Iterator<String> it = entries.keySet().iterator();
+        while (toRemove-- > 0 && it.hasNext()) {
+            it.next();
+            it.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] bytes = digest.digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record Entry(AuthenticatedUser principal, String sessionId, long expiresAt) {
+    }
+}
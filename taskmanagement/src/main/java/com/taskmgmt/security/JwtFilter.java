@@ -1,27 +1,43 @@
 package com.taskmgmt.security;
 
+import com.taskmgmt.entity.Role;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
 
 @Component
 public class JwtFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
     private final CustomUserDetailsService userDetailsService;
+    private final JwtAuthenticationCache authenticationCache;
+    private final RevokedSessions revokedSessions;
 
-    public JwtFilter(JwtUtil jwtUtil, CustomUserDetailsService userDetailsService) {
+    // When true, the principal is built from the verified claims alone and users is never read
+    private final boolean stateless;
+
+    public JwtFilter(JwtUtil jwtUtil,
+                     CustomUserDetailsService userDetailsService,
+                     JwtAuthenticationCache authenticationCache,
+                     RevokedSessions revokedSessions,
+                     @Value("${jwt.stateless:false}") boolean stateless) {
         this.jwtUtil = jwtUtil;
         this.userDetailsService = userDetailsService;
+        this.authenticationCache = authenticationCache;
+        this.revokedSessions = revokedSessions;
+        this.stateless = stateless;
     }
 
     @Override
@@ -30,18 +46,13 @@ public class JwtFilter extends OncePerRequestFilter {
                                     FilterChain chain) throws ServletException, IOException {
 
         String authHeader = request.getHeader("Authorization");
-        String token = null;
-        String username = null;
-
-        if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            token = authHeader.substring(7);
-            username = jwtUtil.extractUsername(token);
-        }
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+        if (authHeader != null && authHeader.startsWith("Bearer ")
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            String token = authHeader.substring(7).trim();
+            AuthenticatedUser userDetails = resolveUser(token);
 
-            if (jwtUtil.validateToken(token)) {
+            if (userDetails != null) {
                 UsernamePasswordAuthenticationToken authToken =
                         new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
 
@@ -52,4 +63,51 @@ public class JwtFilter extends OncePerRequestFilter {
         }
         chain.doFilter(request, response);
     }
+
+    // Cached tokens skip both signature verification and the user lookup; revoking a session
+    // evicts its tokens from the cache, so only freshly verified tokens need the revocation check
+    private AuthenticatedUser resolveUser(String token) {
+        AuthenticatedUser cached = authenticationCache.get(token);
+        if (cached != null) {
+            return cached;
+        }
+
+        Optional<Claims> claims = jwtUtil.parseVerifiedClaims(token);
+        if (claims.isEmpty() || claims.get().getSubject() == null) {
+            return null;
+        }
+        String sessionId = claims.get().get(JwtUtil.SESSION_ID_CLAIM, String.class);
+        if (sessionId != null && revokedSessions.isRevoked(sessionId)) {
+            return null;
+        }
+
+        AuthenticatedUser userDetails = stateless ? fromClaims(claims.get()) : null;
+        if (userDetails == null) {
+            try {
+                userDetails = userDetailsService.loadUserByUsername(claims.get().getSubject()).withoutPassword();
+            } catch (UsernameNotFoundException e) {
+                return null;
+            }
+        }
+        authenticationCache.put(token, userDetails, claims.get().getExpiration(), sessionId);
+        if (sessionId != null && revokedSessions.isRevoked(sessionId)) {
+            authenticationCache.evictSession(sessionId); // revoked while we were verifying
+            return null;
+        }
+        return userDetails;
+    }
+
+    // Tokens issued before the uid claim existed fall back to the database lookup
+    private static AuthenticatedUser fromClaims(Claims claims) {
+        Number userId = claims.get(JwtUtil.USER_ID_CLAIM, Number.class);
+        String role = claims.get(JwtUtil.ROLE_CLAIM, String.class);
+        if (userId == null || role == null) {
+            return null;
+        }
+        try {
+            return new AuthenticatedUser(userId.longValue(), claims.getSubject(), null, Role.valueOf(role));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
 }
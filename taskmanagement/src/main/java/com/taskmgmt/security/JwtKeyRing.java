@@ -0,0 +1,122 @@
+package com.taskmgmt.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.Key;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * HMAC signing keys, selected by the JWS {@code kid} header.
+ *
+ * The key derived from {@code jwt.secret} is always present as kid {@value #DEFAULT_KID}; tokens
+ * issued before rotation was introduced carry no kid and resolve to it. Additional keys can be
+ * supplied in the properties file named by {@code jwt.keys-file}:
+ *
+ * <pre>
+ * active=2026-10
+ * keys.2026-09=...secret...
+ * keys.2026-10=...secret...
+ * </pre>
+ *
+ * The file is polled and re-read when it changes, so a new key can be activated (and old ones kept
+ * around for verification until their tokens expire) without restarting the application.
+ */
+@Slf4j
+@Component
+public class JwtKeyRing extends SigningKeyResolverAdapter {
+
+    public static final String DEFAULT_KID = "default";
+
+    private final Key defaultKey;
+    private final Path keysFile;
+
+    private volatile Snapshot snapshot;
+    private volatile long keysFileModified = -1;
+
+    public JwtKeyRing(@Value("${jwt.secret}") String secret,
+                      @Value("${jwt.keys-file:}") String keysFile) {
+        this.defaultKey = hmacKey(secret);
+        this.keysFile = keysFile.isBlank() ? null : Path.of(keysFile);
+        this.snapshot = new Snapshot(DEFAULT_KID, Map.of(DEFAULT_KID, defaultKey));
+        reload();
+    }
+
+    public String activeKid() {
+        return snapshot.activeKid();
+    }
+
+    public Key activeKey() {
+        Snapshot current = snapshot;
+        return current.keys().get(current.activeKid());
+    }
+
+    @Override
+    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+        String kid = header.getKeyId() != null ? header.getKeyId() : DEFAULT_KID;
+        Key key = snapshot.keys().get(kid);
+        if (key == null) {
+            throw new SignatureException("Unknown signing key id: " + kid);
+        }
+        return key;
+    }
+
+    // Re-read the keys file if it changed; a broken file keeps the previous keys in place
+    @Scheduled(fixedDelayString = "${jwt.keys-file-poll-interval:60000}")
+    public void reload() {
+        if (keysFile == null || !Files.exists(keysFile)) {
+            return;
+        }
+        try {
+            long modified = Files.getLastModifiedTime(keysFile).toMillis();
+            if (modified == keysFileModified) {
+                return;
+            }
+
+            Properties props = new Properties();
+            try (Reader reader = Files.newBufferedReader(keysFile, StandardCharsets.UTF_8)) {
+                props.load(reader);
+            }
+
+            Map<String, Key> keys = new HashMap<>();
+            keys.put(DEFAULT_KID, defaultKey);
+            for (String name : props.stringPropertyNames()) {
+                if (name.startsWith("keys.")) {
+                    keys.put(name.substring("keys.".length()), hmacKey(props.getProperty(name)));
+                }
+            }
+
+            String active = props.getProperty("active", DEFAULT_KID).trim();
+            if (!keys.containsKey(active)) {
+                throw new IllegalStateException("Active kid '" + active + "' has no key");
+            }
+
+            snapshot = new Snapshot(active, Map.copyOf(keys));
+            keysFileModified = modified;
+            log.info("Loaded {} JWT signing keys, active kid '{}'", keys.size(), active);
+        } catch (IOException | RuntimeException e) {
+            log.error("Could not load JWT keys from {}, keeping current keys", keysFile, e);
+        }
+    }
+
+    private static Key hmacKey(String secret) {
+        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private record Snapshot(String activeKid, Map<String, Key> keys) {
+    }
+}
@@ -1,38 +1,77 @@
 package com.taskmgmt.security;
 
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.nio.charset.StandardCharsets;
-import java.security.Key;
 import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
+@Slf4j
 @Component
 public class JwtUtil {
 
-    @Value("${jwt.secret}")
-    private String secret;
-
-    @Value("${jwt.access-token-expiration}")
-    private long accessExpiration;
-
-    @Value("${jwt.refresh-token-expiration}")
-    private long refreshExpiration;
+    public static final String ROLE_CLAIM = "role";
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String SESSION_ID_CLAIM = "sid";
+
+    private final JwtKeyRing keyRing;
+
+    // Built once; DefaultJwtParser is immutable and safe to share between threads
+    private final JwtParser parser;
+
+    private final long accessExpiration;
+
+    private final long refreshExpiration;
+
+    // Sign and parse+verify latency; verification is tagged with its outcome
+    private final Timer signTimer;
+    private final Timer verifyValidTimer;
+    private final Timer verifyExpiredTimer;
+    private final Timer verifyInvalidTimer;
+
+    public JwtUtil(JwtKeyRing keyRing,
+                   @Value("${jwt.access-token-expiration}") long accessExpiration,
+                   @Value("${jwt.refresh-token-expiration}") long refreshExpiration,
+                   MeterRegistry meterRegistry) {
+        this.keyRing = keyRing;
+        this.accessExpiration = accessExpiration;
+        this.refreshExpiration = refreshExpiration;
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(keyRing)
+                .build();
+        this.signTimer = meterRegistry.timer("jwt.sign");
+        this.verifyValidTimer = meterRegistry.timer("jwt.verify", "outcome", "valid");
+        this.verifyExpiredTimer = meterRegistry.timer("jwt.verify", "outcome", "expired");
+        this.verifyInvalidTimer = meterRegistry.timer("jwt.verify", "outcome", "invalid");
+    }
 
     // Generate JWT
     public String generateToken(String username, String role) {
-        byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
-        Key key = Keys.hmacShaKeyFor(keyBytes);
+        return generateToken(null, username, role);
+    }
+
+    // Generate JWT that also carries the user id, enough to authenticate without a users lookup
+    public String generateToken(Long userId, String username, String role) {
+        return generateToken(userId, username, role, null);
+    }
 
-        return Jwts.builder()
+    // Access token bound to a login session (the refresh token family), so logout can revoke it
+    public String generateToken(Long userId, String username, String role, String sessionId) {
+        return signTimer.record(() -> Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, keyRing.activeKid())
                 .setSubject(username)
-                .claim("role", role)
+                .claim(ROLE_CLAIM, role)
+                .claim(USER_ID_CLAIM, userId)
+                .claim(SESSION_ID_CLAIM, sessionId)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + accessExpiration))
-                .signWith(key, SignatureAlgorithm.HS256)
-                .compact();
+                .signWith(keyRing.activeKey(), SignatureAlgorithm.HS256)
+                .compact());
     }
 
 
@@ -41,19 +80,30 @@ public class JwtUtil {
     }
 
     public String extractRole(String token) {
-        return parseClaims(token).get("role", String.class);
+        return parseClaims(token).get(ROLE_CLAIM, String.class);
     }
 
-    public boolean validateToken(String token) {
+    // Verify signature and expiry once and hand back the claims (empty if the token is invalid)
+    public Optional<Claims> parseVerifiedClaims(String token) {
+        long start = System.nanoTime();
+        Timer outcome = verifyInvalidTimer;
         try {
-            parseClaims(token);
-            return true;
+            Claims claims = parseClaims(token);
+            outcome = verifyValidTimer;
+            return Optional.of(claims);
         } catch (ExpiredJwtException e) {
-            System.out.println("Token expired");
-        } catch (JwtException e) {
-            System.out.println("Token error: " + e.getMessage());
+            outcome = verifyExpiredTimer;
+            log.debug("Token expired");
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Token error: {}", e.getMessage());
+        } finally {
+            outcome.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
         }
-        return false;
+        return Optional.empty();
+    }
+
+    public boolean validateToken(String token) {
+        return parseVerifiedClaims(token).isPresent();
     }
 
 
@@ -66,15 +116,6 @@ public class JwtUtil {
         // Trim spaces
         token = token.trim();
 
-        // Use bytes for secret
-        byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
-        Key key = Keys.hmacShaKeyFor(keyBytes);
-
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parser.parseClaimsJws(token).getBody();
     }
 }
-
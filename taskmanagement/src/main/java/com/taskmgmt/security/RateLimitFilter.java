@@ -0,0 +1,147 @@
+package com.taskmgmt.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token-bucket rate limiting, one bucket per rule and caller. Sits right after {@link JwtFilter},
+ * so authenticated callers are keyed by their token's subject and everyone else by client address.
+ *
+ * Each bucket is a single {@link AtomicLong} updated with compare-and-set (the GCRA formulation of
+ * a token bucket: the stored value is the time at which the bucket will be full again), so the
+ * hot path takes no lock and allocates nothing once the bucket exists; the map itself is a
+ * {@link ConcurrentHashMap}, whose bins are locked independently only while a bucket is created.
+ * A bucket that has refilled completely is indistinguishable from a new one, which is what lets
+ * the periodic eviction drop idle callers without changing anyone's limit.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final boolean enabled;
+    private final List<CompiledRule> rules;
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    public RateLimitFilter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.meterRegistry = meterRegistry;
+        this.rules = properties.getRules().stream()
+                .map(rule -> new CompiledRule(rule, PathPatternParser.defaultInstance.parse(rule.getPath())))
+                .toList();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || rules.isEmpty();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+        CompiledRule rule = match(request);
+        if (rule != null) {
+            long waitNanos = tryAcquire(rule, caller(request), System.nanoTime());
+            if (waitNanos > 0) {
+                rule.throttled.increment();
+                response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+                response.setHeader("Retry-After", String.valueOf(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos - 1) + 1)));
+                response.setContentType("text/plain");
+                response.getWriter().write("Too many requests");
+                return;
+            }
+        }
+        chain.doFilter(request, response);
+    }
+
+    // Drops buckets that are full again; their callers start from a fresh bucket next time
+    @Scheduled(fixedDelayString = "#{@rateLimitProperties.evictionInterval.toMillis()}")
+    public void evictIdle() {
+        long now = System.nanoTime();
+        buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+    }
+
+    public int bucketCount() {
+        return buckets.size();
+    }
+
+    // Returns 0 if a token was taken, otherwise how long until one is available
+    long tryAcquire(CompiledRule rule, String caller, long now) {
+        AtomicLong bucket = buckets.computeIfAbsent(rule.key(caller), key -> new AtomicLong(now));
+        while (true) {
+            long fullAt = bucket.get();
+            long next = Math.max(fullAt - now, 0) + rule.intervalNanos; // time until full after this request
+            if (next > rule.burstNanos) {
+                return next - rule.burstNanos;
+            }
+            if (bucket.compareAndSet(fullAt, now + next)) {
+                return 0;
+            }
+        }
+    }
+
+    private CompiledRule match(HttpServletRequest request) {
+        PathContainer path = PathContainer.parsePath(request.getRequestURI().substring(request.getContextPath().length()));
+        for (CompiledRule rule : rules) {
+            if ((rule.method == null || rule.method.equalsIgnoreCase(request.getMethod())) && rule.pattern.matches(path)) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    private static String caller(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()) {
+            return "user:" + authentication.getName();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    final class CompiledRule {
+        private final String id;
+        private final String method;
+        private final PathPattern pattern;
+        private final long intervalNanos;
+        private final long burstNanos;
+        private final Counter throttled;
+
+        CompiledRule(RateLimitProperties.Rule rule, PathPattern pattern) {
+            if (rule.getCapacity() < 1 || rule.getRefillPerSecond() <= 0) {
+                throw new IllegalStateException("Rate limit rule " + rule.getPath() + " needs capacity >= 1 and refill-per-second > 0");
+            }
+            this.method = rule.getMethod() == null || rule.getMethod().isBlank() ? null : rule.getMethod();
+            this.id = (method == null ? "*" : method) + " " + rule.getPath();
+            this.pattern = pattern;
+            this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / rule.getRefillPerSecond());
+            this.burstNanos = intervalNanos * rule.getCapacity();
+            this.throttled = Counter.builder("http.server.requests.throttled")
+                    .description("Requests rejected by a rate limit rule")
+                    .tag("rule", id)
+                    .register(meterRegistry);
+        }
+
+        String key(String caller) {
+            return id + "|" + caller;
+        }
+    }
+}
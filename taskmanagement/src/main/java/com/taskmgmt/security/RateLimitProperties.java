@@ -0,0 +1,36 @@
+package com.taskmgmt.security;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Request rate limits ({@code tasks.rate-limit.*}). Rules are tried in order and the first whose
+ * path pattern (and method, if set) matches applies; requests matching no rule are not limited.
+ */
+@Data
+@ConfigurationProperties(prefix = "tasks.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    // How often buckets that have refilled completely (i.e. idle ones) are dropped
+    private Duration evictionInterval = Duration.ofMinutes(1);
+
+    private List<Rule> rules = new ArrayList<>();
+
+    @Data
+    public static class Rule {
+        // Spring path pattern, e.g. /api/tasks/**
+        private String path;
+        // Optional HTTP method; any method when empty
+        private String method;
+        // Requests allowed in a burst
+        private int capacity;
+        // Sustained rate the bucket refills at
+        private double refillPerSecond;
+    }
+}
@@ -0,0 +1,75 @@
+package com.taskmgmt.security;
+
+import com.taskmgmt.event.SessionRevokedEvent;
+import com.taskmgmt.repository.RefreshTokenRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory set of revoked login sessions (the {@code sid} claim), checked on every authenticated
+ * request without touching the database.
+ *
+ * A session only needs to be remembered until the last access token issued for it has expired,
+ * so the set stays as small as the number of logouts within one access-token lifetime. Sessions
+ * revoked on another instance are picked up from {@code refresh_tokens} every
+ * {@code jwt.revocation.reload-interval} ms. Each newly revoked session is published as a
+ * {@link SessionRevokedEvent}, so long-lived connections of that session can be closed.
+ */
+@Component
+public class RevokedSessions {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final JwtAuthenticationCache authenticationCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final long accessExpiration;
+
+    // sid -> time (epoch ms) after which no access token of the session can still be valid
+    private final ConcurrentHashMap<String, Long> revoked = new ConcurrentHashMap<>();
+
+    public RevokedSessions(RefreshTokenRepository refreshTokenRepository,
+                           JwtAuthenticationCache authenticationCache,
+                           ApplicationEventPublisher eventPublisher,
+                           @Value("${jwt.access-token-expiration}") long accessExpiration) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.authenticationCache = authenticationCache;
+        this.eventPublisher = eventPublisher;
+        this.accessExpiration = accessExpiration;
+    }
+
+    public boolean isRevoked(String sessionId) {
+        return revoked.containsKey(sessionId);
+    }
+
+    // Marked first, then evicted, so a request racing the revocation cannot re-cache the token
+    public void revoke(String sessionId) {
+        revoked.put(sessionId, System.currentTimeMillis() + accessExpiration);
+        authenticationCache.evictSession(sessionId);
+        eventPublisher.publishEvent(new SessionRevokedEvent(sessionId));
+    }
+
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${jwt.revocation.reload-interval:30000}")
+    public void reload() {
+        long now = System.currentTimeMillis();
+        revoked.values().removeIf(keepUntil -> keepUntil <= now);
+
+        LocalDateTime since = LocalDateTime.now().minus(accessExpiration, ChronoUnit.MILLIS);
+        for (String sessionId : refreshTokenRepository.findFamiliesRevokedSince(since)) {
+            if (revoked.putIfAbsent(sessionId, now + accessExpiration) == null) {
+                authenticationCache.evictSession(sessionId);
+                eventPublisher.publishEvent(new SessionRevokedEvent(sessionId));
+            }
+        }
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+}
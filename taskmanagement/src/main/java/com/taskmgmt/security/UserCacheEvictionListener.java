@@ -0,0 +1,31 @@
+package com.taskmgmt.security;
+
+import com.taskmgmt.entity.User;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA listener on {@link User}: any update (password rehash or change, role) or deletion evicts the
+ * user's verified tokens from {@link JwtAuthenticationCache}, so the next request loads the user
+ * again instead of running on the cached principal until the TTL. Instantiated by Hibernate through
+ * Spring's bean container; JPA-only contexts (@DataJpaTest) have no cache, hence the provider.
+ */
+@Component
+public class UserCacheEvictionListener {
+
+    private final ObjectProvider<JwtAuthenticationCache> authenticationCache;
+
+    public UserCacheEvictionListener(ObjectProvider<JwtAuthenticationCache> authenticationCache) {
+        this.authenticationCache = authenticationCache;
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void evict(User user) {
+        if (user.getId() != null) {
+            authenticationCache.ifAvailable(cache -> cache.evictUser(user.getId()));
+        }
+    }
+}
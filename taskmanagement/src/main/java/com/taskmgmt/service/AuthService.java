@@ -4,62 +4,87 @@ import com.taskmgmt.dto.*;
 import com.taskmgmt.entity.Role;
 import com.taskmgmt.entity.User;
 import com.taskmgmt.repository.UserRepository;
+import com.taskmgmt.security.AuthenticatedUser;
 import com.taskmgmt.security.JwtUtil;
+import com.taskmgmt.security.PasswordHashingExecutor;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.CompletableFuture;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "taskmgmt.service", description = "Service method calls")
 public class AuthService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager authenticationManager;
     private final JwtUtil jwtUtil;
+    private final PasswordHashingExecutor passwordHashing;
+    private final RefreshTokenService refreshTokenService;
 
-    // Register a new user
-    public String register(RegisterRequestDto dto) {
-        User user = User.builder()
-                .name(dto.getName())
-                .email(dto.getEmail())
-                .password(passwordEncoder.encode(dto.getPassword()))
-                .role(Role.USER)
-                .build();
-        userRepository.save(user);
-        return "User registered successfully";
+    // Register a new user (the password is hashed on the hashing pool); a taken email is refused
+    // before any hashing, and a concurrent registration of the same email trips the unique key
+    public CompletableFuture<String> register(RegisterRequestDto dto) {
+        if (userRepository.existsByEmail(dto.getEmail())) {
+            throw emailTaken();
+        }
+        return passwordHashing.submit(() -> {
+            User user = User.builder()
+                    .name(dto.getName())
+                    .email(dto.getEmail())
+                    .password(passwordEncoder.encode(dto.getPassword()))
+                    .role(Role.USER)
+                    .build();
+            try {
+                userRepository.save(user);
+            } catch (DataIntegrityViolationException e) {
+                throw emailTaken();
+            }
+            return "User registered successfully";
+        });
     }
 
-    //login
-    public AuthResponseDto login(LoginRequestDto dto) {
-        // Authenticate user
-        authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(dto.getEmail(), dto.getPassword())
-        );
-
-        User user = userRepository.findByEmail(dto.getEmail())
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-        // Generate access token
-        String accessToken = jwtUtil.generateToken(user.getEmail(), user.getRole().name());
+    private static ResponseStatusException emailTaken() {
+        return new ResponseStatusException(HttpStatus.CONFLICT, "Email is already registered");
+    }
 
+    //login: the password check runs on the hashing pool
+    public CompletableFuture<AuthResponseDto> login(LoginRequestDto dto) {
+        return passwordHashing.submit(() -> {
+            // Authenticate user; the principal already carries id, email and role
+            Authentication authentication = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(dto.getEmail(), dto.getPassword())
+            );
+            AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
 
-        String refreshToken = jwtUtil.generateToken(user.getEmail(), user.getRole().name());
+            return tokens(refreshTokenService.issue(user));
+        });
+    }
 
-        return new AuthResponseDto(accessToken, refreshToken, user.getRole().name());
+    // Exchange a refresh token for a new access token and the next refresh token
+    public AuthResponseDto refresh(String refreshToken) {
+        return tokens(refreshTokenService.rotate(refreshToken));
     }
 
-    // Refresh access token using refresh token
-    public String refreshAccessToken(String refreshToken) {
-        if (!jwtUtil.validateToken(refreshToken)) {
-            throw new RuntimeException("Invalid or expired refresh token");
-        }
-        String username = jwtUtil.extractUsername(refreshToken);
-        User user = userRepository.findByEmail(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    // Ends the session: its refresh tokens stop working and its access tokens are rejected
+    public void logout(String refreshToken) {
+        refreshTokenService.revoke(refreshToken);
+    }
 
-        return jwtUtil.generateToken(user.getEmail(), user.getRole().name());
+    // Access token bound to the refresh token's session
+    private AuthResponseDto tokens(RefreshTokenService.IssuedRefreshToken refresh) {
+        AuthenticatedUser user = refresh.user();
+        String accessToken = jwtUtil.generateToken(user.getId(), user.getEmail(), user.getRole().name(), refresh.familyId());
+        return new AuthResponseDto(accessToken, refresh.token(), user.getRole().name());
     }
 }
@@ -0,0 +1,30 @@
+package com.taskmgmt.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.taskmgmt.dto.CacheStatsDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import javax.cache.CacheManager;
+import java.util.ArrayList;
+import java.util.List;
+
+// Hit / miss / eviction counters of the Hibernate second-level cache regions
+@Component
+@RequiredArgsConstructor
+public class HibernateCacheStats {
+
+    private final CacheManager hibernateCacheManager;
+
+    public List<CacheStatsDto> stats() {
+        List<CacheStatsDto> stats = new ArrayList<>();
+        for (String region : hibernateCacheManager.getCacheNames()) {
+            Cache<?, ?> cache = hibernateCacheManager.getCache(region).unwrap(Cache.class);
+            CacheStats regionStats = cache.stats();
+            stats.add(new CacheStatsDto("hibernate:" + region, regionStats.hitCount(), regionStats.missCount(),
+                    regionStats.evictionCount(), cache.estimatedSize()));
+        }
+        return stats;
+    }
+}
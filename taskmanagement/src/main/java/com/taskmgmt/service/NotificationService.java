@@ -0,0 +1,89 @@
+package com.taskmgmt.service;
+
+import com.taskmgmt.dto.NotificationDto;
+import com.taskmgmt.dto.NotificationPageDto;
+import com.taskmgmt.dto.UnreadCountDto;
+import com.taskmgmt.entity.Notification;
+import com.taskmgmt.repository.NotificationRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+public class NotificationService {
+
+    private final NotificationRepository notificationRepository;
+    private final UnreadNotificationCounter unreadCounter;
+
+    static final int DEFAULT_PAGE_SIZE = 20;
+    static final int MAX_PAGE_SIZE = 100;
+
+
+     // One keyset page of the user's inbox, newest first
+
+    public NotificationPageDto getNotifications(Long userId, String cursor, Integer requestedSize, boolean unreadOnly) {
+        int size = KeysetCursor.pageSize(requestedSize, DEFAULT_PAGE_SIZE, MAX_PAGE_SIZE);
+        List<NotificationDto> rows = notificationRepository.findPage(
+                userId, KeysetCursor.decode(cursor), unreadOnly, Limit.of(size + 1));
+
+        // One extra row is fetched to know whether another page exists
+        boolean hasMore = rows.size() > size;
+        List<NotificationDto> page = hasMore ? new ArrayList<>(rows.subList(0, size)) : rows;
+        String nextCursor = hasMore ? KeysetCursor.encode(page.get(page.size() - 1).getId()) : null;
+        return new NotificationPageDto(page, nextCursor, unreadCounter.get(userId));
+    }
+
+
+     // Badge count, served from memory
+
+    public UnreadCountDto getUnreadCount(Long userId) {
+        return new UnreadCountDto(unreadCounter.get(userId));
+    }
+
+
+     // Mark one notification read; repeating the call is a no-op
+
+    @Transactional
+    public void markRead(Long userId, Long notificationId) {
+        if (notificationRepository.markRead(notificationId, userId) == 1) {
+            unreadCounter.add(userId, -1);
+        } else if (!notificationRepository.existsByIdAndUserId(notificationId, userId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Notification not found");
+        }
+    }
+
+
+     // Mark the whole inbox read
+
+    @Transactional
+    public void markAllRead(Long userId) {
+        int changed = notificationRepository.markAllRead(userId);
+        unreadCounter.add(userId, -changed);
+    }
+
+
+     // Every notification insert goes through here so the unread counts stay in step
+
+    @Transactional
+    public List<Notification> saveAll(List<Notification> notifications) {
+        List<Notification> saved = notificationRepository.saveAll(notifications);
+
+        Map<Long, Long> unreadByUser = new HashMap<>();
+        for (Notification notification : saved) {
+            if (!notification.isRead()) {
+                unreadByUser.merge(notification.getUser().getId(), 1L, Long::sum);
+            }
+        }
+        unreadByUser.forEach(unreadCounter::add);
+        return saved;
+    }
+}
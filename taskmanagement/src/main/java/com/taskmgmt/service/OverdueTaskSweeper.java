@@ -0,0 +1,118 @@
+package com.taskmgmt.service;
+
+import com.taskmgmt.entity.Notification;
+import com.taskmgmt.entity.SweepCheckpoint;
+import com.taskmgmt.entity.TaskStatus;
+import com.taskmgmt.repository.*;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Notifies every assignee of an overdue (past due date, not DONE) task, once per day.
+ *
+ * Tasks are read as a keyset scan in chunks of {@code tasks.overdue.chunk-size}; each chunk's
+ * notifications and the new checkpoint position commit in the same transaction, so heap use is
+ * bounded by the chunk size and a restarted sweep carries on after the last committed task.
+ * Set {@code tasks.overdue.sweep-cron=-} to disable.
+ */
+@Slf4j
+@Service
+public class OverdueTaskSweeper {
+
+    static final String CHECKPOINT = "overdue-tasks";
+
+    private final TaskRepository taskRepository;
+    private final TaskAssigneeRepository taskAssigneeRepository;
+    private final UserRepository userRepository;
+    private final NotificationService notificationService;
+    private final SweepCheckpointRepository checkpointRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public OverdueTaskSweeper(TaskRepository taskRepository,
+                              TaskAssigneeRepository taskAssigneeRepository,
+                              UserRepository userRepository,
+                              NotificationService notificationService,
+                              SweepCheckpointRepository checkpointRepository,
+                              TransactionTemplate transactionTemplate,
+                              @Value("${tasks.overdue.chunk-size:500}") int chunkSize) {
+        this.taskRepository = taskRepository;
+        this.taskAssigneeRepository = taskAssigneeRepository;
+        this.userRepository = userRepository;
+        this.notificationService = notificationService;
+        this.checkpointRepository = checkpointRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+    }
+
+    @Scheduled(cron = "${tasks.overdue.sweep-cron:0 0 * * * *}")
+    public void sweep() {
+        int created = sweep(LocalDate.now());
+        if (created > 0) {
+            log.info("Overdue sweep created {} notifications", created);
+        }
+    }
+
+    // Returns the number of notifications created by this run
+    public int sweep(LocalDate today) {
+        int total = 0;
+        while (true) {
+            Integer created = transactionTemplate.execute(status -> processChunk(today));
+            if (created == null) {
+                return total;
+            }
+            total += created;
+        }
+    }
+
+    // One chunk under the checkpoint row lock; null once today's sweep is complete
+    private Integer processChunk(LocalDate today) {
+        SweepCheckpoint checkpoint = checkpointRepository.findForUpdate(CHECKPOINT)
+                .orElseThrow(() -> new IllegalStateException("Missing sweep checkpoint " + CHECKPOINT));
+
+        if (!today.equals(checkpoint.getSweepDate())) {
+            checkpoint.setSweepDate(today);
+            checkpoint.setLastTaskId(0);
+            checkpoint.setCompleted(false);
+        }
+        if (checkpoint.isCompleted()) {
+            return null;
+        }
+
+        List<OverdueTaskView> tasks = taskRepository.findOverdueAfter(
+                today, TaskStatus.DONE, checkpoint.getLastTaskId(), Limit.of(chunkSize));
+        if (tasks.isEmpty()) {
+            checkpoint.setCompleted(true);
+            return null;
+        }
+
+        Map<Long, OverdueTaskView> byId = new HashMap<>();
+        for (OverdueTaskView task : tasks) {
+            byId.put(task.id(), task);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Notification> notifications = new ArrayList<>();
+        for (AssignmentView assignment : taskAssigneeRepository.findAssignments(byId.keySet())) {
+            OverdueTaskView task = byId.get(assignment.taskId());
+            notifications.add(Notification.builder()
+                    .message("Task '" + task.title() + "' is overdue (due " + task.dueDate() + ")")
+                    .createdAt(now)
+                    .task(taskRepository.getReferenceById(task.id()))
+                    .user(userRepository.getReferenceById(assignment.userId()))
+                    .build());
+        }
+        notificationService.saveAll(notifications);
+
+        checkpoint.setLastTaskId(tasks.get(tasks.size() - 1).id());
+        return notifications.size();
+    }
+}
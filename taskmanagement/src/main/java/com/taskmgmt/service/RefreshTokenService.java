@@ -0,0 +1,135 @@
+package com.taskmgmt.service;
+
+import com.taskmgmt.entity.RefreshToken;
+import com.taskmgmt.repository.RefreshTokenRepository;
+import com.taskmgmt.repository.UserRepository;
+import com.taskmgmt.security.AuthenticatedUser;
+import com.taskmgmt.security.RevokedSessions;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Opaque refresh tokens with rotation and reuse detection.
+ *
+ * A login starts a token family (its id doubles as the access tokens' {@code sid}). Each refresh
+ * spends the presented token and issues the next one in the same family; presenting a spent token
+ * again means it was copied, so the whole family is revoked and the legitimate client has to log
+ * in again. Only a SHA-256 of each token is stored.
+ */
+@Slf4j
+@Service
+public class RefreshTokenService {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserRepository userRepository;
+    private final RevokedSessions revokedSessions;
+    private final long refreshExpiration;
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+                               UserRepository userRepository,
+                               RevokedSessions revokedSessions,
+                               @Value("${jwt.refresh-token-expiration}") long refreshExpiration) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.userRepository = userRepository;
+        this.revokedSessions = revokedSessions;
+        this.refreshExpiration = refreshExpiration;
+    }
+
+    // token is the raw value handed to the client; familyId is the session id
+    public record IssuedRefreshToken(String token, String familyId, AuthenticatedUser user) {
+    }
+
+    // Starts a new session for a user who has just logged in
+    @Transactional
+    public IssuedRefreshToken issue(AuthenticatedUser user) {
+        return create(user, UUID.randomUUID().toString());
+    }
+
+    // Reuse detection must stick even though the caller gets a 401
+    @Transactional(noRollbackFor = ResponseStatusException.class)
+    public IssuedRefreshToken rotate(String token) {
+        RefreshToken current = find(token)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid refresh token"));
+
+        if (current.getRevokedAt() != null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Session has been revoked");
+        }
+        if (current.getExpiresAt().isBefore(LocalDateTime.now())) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Refresh token expired");
+        }
+        if (refreshTokenRepository.markUsed(current.getId()) == 0) {
+            log.warn("Refresh token reuse for user {}, revoking session {}", current.getUser().getId(), current.getFamilyId());
+            revokeFamily(current.getFamilyId());
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Refresh token already used");
+        }
+
+        return create(AuthenticatedUser.fromEntity(current.getUser()), current.getFamilyId());
+    }
+
+    // Logout: ends the session the token belongs to; unknown tokens are ignored
+    @Transactional
+    public void revoke(String token) {
+        find(token).ifPresent(current -> revokeFamily(current.getFamilyId()));
+    }
+
+    @Transactional
+    @Scheduled(cron = "${jwt.refresh-token-cleanup-cron:0 30 3 * * *}")
+    public void deleteExpired() {
+        int deleted = refreshTokenRepository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            log.info("Deleted {} expired refresh tokens", deleted);
+        }
+    }
+
+    private Optional<RefreshToken> find(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+        return refreshTokenRepository.findWithUser(hash(token));
+    }
+
+    private void revokeFamily(String familyId) {
+        refreshTokenRepository.revokeFamily(familyId, LocalDateTime.now());
+        revokedSessions.revoke(familyId);
+    }
+
+    private IssuedRefreshToken create(AuthenticatedUser user, String familyId) {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        refreshTokenRepository.save(RefreshToken.builder()
+                .tokenHash(hash(token))
+                .familyId(familyId)
+                .user(userRepository.getReferenceById(user.getId()))
+                .expiresAt(LocalDateTime.now().plus(refreshExpiration, ChronoUnit.MILLIS))
+                .build());
+        return new IssuedRefreshToken(token, familyId, user);
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
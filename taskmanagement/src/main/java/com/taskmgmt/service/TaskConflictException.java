@@ -0,0 +1,19 @@
+package com.taskmgmt.service;
+
+import com.taskmgmt.dto.TaskResponseDto;
+import lombok.Getter;
+
+/**
+ * A task write lost against a concurrent one (or named a version the task no longer has). Carries
+ * the task as it is now, so the caller can decide again from the current state; answered with 409.
+ */
+@Getter
+public class TaskConflictException extends RuntimeException {
+
+    private final TaskResponseDto current;
+
+    public TaskConflictException(TaskResponseDto current) {
+        super("Task " + current.getId() + " was changed concurrently (now at version " + current.getVersion() + ")");
+        this.current = current;
+    }
+}
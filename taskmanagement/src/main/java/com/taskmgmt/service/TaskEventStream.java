@@ -0,0 +1,296 @@
+package com.taskmgmt.service;
+
+import com.taskmgmt.dto.TaskResponseDto;
+import com.taskmgmt.event.SessionRevokedEvent;
+import com.taskmgmt.event.TaskChangeEvent;
+import com.taskmgmt.repository.AssignmentView;
+import com.taskmgmt.repository.TaskAssigneeRepository;
+import com.taskmgmt.repository.TaskRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Pushes task changes to connected clients over Server-Sent Events.
+ *
+ * Each subscription is an async-servlet {@link SseEmitter}, so an idle client holds a socket and a
+ * few objects but no request thread. After the publishing transaction commits, a single dispatcher
+ * thread loads the tasks and their recipients (owner + assignees, only while anyone is connected)
+ * and appends the events to each recipient's own bounded queue. Queues are drained by a small
+ * sender pool, at most one sender per subscriber, so each client gets its events in publish order
+ * and a slow or stalled client only holds up itself: once its queue is full its stream is closed,
+ * and the client re-syncs through GET /api/tasks when it reconnects.
+ *
+ * A stream belongs to the access token that opened it. It times out when the token expires and is
+ * closed as soon as the token's session is revoked ({@link SessionRevokedEvent}).
+ * With {@code spring.threads.virtual.enabled} (Java 21+) the dispatcher and senders are virtual
+ * threads, like the request and scheduler threads.
+ */
+@Slf4j
+@Service
+public class TaskEventStream {
+
+    private final TaskRepository taskRepository;
+    private final TaskAssigneeRepository taskAssigneeRepository;
+    private final long timeoutMillis;
+    private final int maxPerUser;
+    private final int subscriberQueueCapacity;
+
+    private final ConcurrentHashMap<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+
+    private final ThreadPoolExecutor dispatcher;
+    private final Executor senders;
+
+    public TaskEventStream(TaskRepository taskRepository,
+                           TaskAssigneeRepository taskAssigneeRepository,
+                           @Value("${tasks.stream.timeout:1800000}") long timeoutMillis,
+                           @Value("${tasks.stream.max-per-user:5}") int maxPerUser,
+                           @Value("${tasks.stream.queue-capacity:10000}") int queueCapacity,
+                           @Value("${tasks.stream.subscriber-queue-capacity:100}") int subscriberQueueCapacity,
+                           @Value("${tasks.stream.sender-threads:4}") int senderThreads,
+                           Environment environment) {
+        this.taskRepository = taskRepository;
+        this.taskAssigneeRepository = taskAssigneeRepository;
+        this.timeoutMillis = timeoutMillis;
+        this.maxPerUser = maxPerUser;
+        this.subscriberQueueCapacity = subscriberQueueCapacity;
+        this.dispatcher = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(queueCapacity),
+                threads(environment, "task-event-stream"),
+                // Clients re-sync through GET /api/tasks, so dropping a push under overload is safe
+                (runnable, executor) -> log.warn("Task event queue full, dropping change"));
+        // Each subscriber has at most one drain queued, so the sender queue is bounded by the subscribers
+        this.senders = Threading.VIRTUAL.isActive(environment)
+                ? new VirtualThreadTaskExecutor("task-event-send-")
+                : new ThreadPoolExecutor(senderThreads, senderThreads, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), threads(environment, "task-event-send"));
+    }
+
+    private static ThreadFactory threads(Environment environment, String name) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            return new VirtualThreadTaskExecutor(name + "-").getVirtualThreadFactory();
+        }
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    // sessionId and tokenExpiresAt come from the caller's access token (null: not bound to either)
+    public SseEmitter subscribe(Long userId, String sessionId, Instant tokenExpiresAt) {
+        long timeout = timeoutMillis;
+        if (tokenExpiresAt != null) {
+            timeout = Math.max(1, Math.min(timeout, tokenExpiresAt.toEpochMilli() - System.currentTimeMillis()));
+        }
+        Subscriber subscriber = new Subscriber(userId, sessionId, newEmitter(timeout));
+        subscribers.compute(userId, (id, userSubscribers) -> {
+            if (userSubscribers == null) {
+                userSubscribers = ConcurrentHashMap.newKeySet();
+            } else if (userSubscribers.size() >= maxPerUser) {
+                throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Too many open task streams");
+            }
+            userSubscribers.add(subscriber);
+            return userSubscribers;
+        });
+
+        SseEmitter emitter = subscriber.emitter;
+        Runnable remove = subscriber::ended;
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(e -> remove.run());
+
+        // Commits the response headers straight away so the client knows it is connected
+        try {
+            emitter.send(SseEmitter.event().comment("connected"));
+        } catch (IOException e) {
+            remove.run();
+        }
+        return emitter;
+    }
+
+    // Overridden in tests to stand in for a slow client
+    SseEmitter newEmitter(long timeout) {
+        return new SseEmitter(timeout);
+    }
+
+    public int subscriberCount() {
+        int count = 0;
+        for (Set<Subscriber> userSubscribers : subscribers.values()) {
+            count += userSubscribers.size();
+        }
+        return count;
+    }
+
+    // Runs after commit (or straight away outside a transaction); the fan-out itself is queued
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChange(TaskChangeEvent event) {
+        if (!subscribers.isEmpty()) {
+            dispatcher.execute(() -> dispatch(event));
+        }
+    }
+
+    // Logout, refresh-token reuse or a revocation found on reload: the session's streams end now
+    @EventListener
+    public void onSessionRevoked(SessionRevokedEvent event) {
+        subscribers.values().forEach(userSubscribers -> userSubscribers.forEach(subscriber -> {
+            if (event.sessionId().equals(subscriber.sessionId)) {
+                subscriber.close();
+            }
+        }));
+    }
+
+    // Keeps idle connections from being closed by proxies and drops clients that have gone away
+    @Scheduled(fixedDelayString = "${tasks.stream.heartbeat:25000}")
+    public void heartbeat() {
+        subscribers.values().forEach(userSubscribers ->
+                userSubscribers.forEach(subscriber -> subscriber.offer(SseEmitter.event().comment("heartbeat"))));
+    }
+
+    // Before the web server's graceful shutdown, which would otherwise wait for every open stream
+    @EventListener(ContextClosedEvent.class)
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        if (senders instanceof ExecutorService pool) {
+            pool.shutdownNow();
+        }
+        subscribers.values().forEach(userSubscribers -> userSubscribers.forEach(Subscriber::close));
+        subscribers.clear();
+    }
+
+    private void dispatch(TaskChangeEvent event) {
+        try {
+            for (int from = 0; from < event.taskIds().size(); from += TaskService.BULK_CHUNK_SIZE) {
+                if (subscribers.isEmpty()) {
+                    return;
+                }
+                dispatchChunk(event, event.taskIds().subList(from,
+                        Math.min(from + TaskService.BULK_CHUNK_SIZE, event.taskIds().size())));
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not push task change {}", event.type(), e);
+        }
+    }
+
+    // Two queries per chunk: the task rows and their assignments
+    private void dispatchChunk(TaskChangeEvent event, List<Long> taskIds) {
+        Map<Long, Set<Long>> recipients = new HashMap<>();
+        for (AssignmentView assignment : taskAssigneeRepository.findAssignments(taskIds)) {
+            recipients.computeIfAbsent(assignment.taskId(), id -> new HashSet<>()).add(assignment.userId());
+        }
+
+        for (TaskResponseDto task : taskRepository.findDtosByIds(taskIds)) {
+            Set<Long> users = recipients.computeIfAbsent(task.getId(), id -> new HashSet<>());
+            users.add(task.getCreatedById());
+            for (Long userId : users) {
+                Set<Subscriber> userSubscribers = subscribers.get(userId);
+                if (userSubscribers == null) {
+                    continue;
+                }
+                for (Subscriber subscriber : userSubscribers) {
+                    subscriber.offer(SseEmitter.event()
+                            .name(event.type().eventName())
+                            .id(String.valueOf(task.getId()))
+                            .data(task));
+                }
+            }
+        }
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.userId, (id, userSubscribers) -> {
+            userSubscribers.remove(subscriber);
+            return userSubscribers.isEmpty() ? null : userSubscribers;
+        });
+    }
+
+    // One open stream and the events waiting for it
+    private final class Subscriber {
+
+        private final Long userId;
+        private final String sessionId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+
+        Subscriber(Long userId, String sessionId, SseEmitter emitter) {
+            this.userId = userId;
+            this.sessionId = sessionId;
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(subscriberQueueCapacity);
+        }
+
+        // Never blocks: a client that has fallen a whole queue behind is disconnected instead
+        void offer(SseEmitter.SseEventBuilder event) {
+            if (closed) {
+                return;
+            }
+            if (!queue.offer(event)) {
+                log.debug("Task stream of user {} fell {} events behind, closing it", userId, subscriberQueueCapacity);
+                close();
+                return;
+            }
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    senders.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    close(); // shutting down
+                }
+            }
+        }
+
+        // Re-checks the queue after letting go, so an event offered meanwhile is not left behind
+        private void drain() {
+            do {
+                SseEmitter.SseEventBuilder event;
+                while (!closed && (event = queue.poll()) != null) {
+                    try {
+                        emitter.send(event);
+                    } catch (IOException | IllegalStateException e) {
+                        // The container completes the emitter itself once the connection has failed
+                        ended();
+                        return;
+                    }
+                }
+                if (closed) {
+                    emitter.complete(); // close() found this sender busy and left the completion to it
+                    return;
+                }
+                draining.set(false);
+            } while (!queue.isEmpty() && draining.compareAndSet(false, true));
+        }
+
+        // complete() waits for a send in progress, so only the thread holding "draining" calls it:
+        // this one if no sender is active (draining then stays set), otherwise that sender
+        void close() {
+            ended();
+            if (draining.compareAndSet(false, true)) {
+                emitter.complete();
+            }
+        }
+
+        // Completed, timed out or failed: nothing more is queued or sent
+        void ended() {
+            closed = true;
+            queue.clear();
+            unsubscribe(this);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.taskmgmt.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+// The task ids of a change in ascending chunks of TaskService.BULK_CHUNK_SIZE. A dense chunk (an
+// import, a run of new tasks) is read with a range scan: a long IN list costs per-row comparisons
+final class TaskIdChunks {
+
+    private TaskIdChunks() {
+    }
+
+    static List<List<Long>> of(Collection<Long> taskIds) {
+        List<Long> sorted = taskIds.stream().distinct().sorted().toList();
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < sorted.size(); from += TaskService.BULK_CHUNK_SIZE) {
+            chunks.add(sorted.subList(from, Math.min(from + TaskService.BULK_CHUNK_SIZE, sorted.size())));
+        }
+        return chunks;
+    }
+
+    // At least half of the ids between the first and the last are in the chunk
+    static boolean dense(List<Long> chunk) {
+        return last(chunk) - first(chunk) < 2L * chunk.size();
+    }
+
+    static long first(List<Long> chunk) {
+        return chunk.get(0);
+    }
+
+    static long last(List<Long> chunk) {
+        return chunk.get(chunk.size() - 1);
+    }
+}
@@ -0,0 +1,223 @@
+package com.taskmgmt.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.*;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Reads the body of POST /api/admin/tasks/import one row at a time, so the request is never held
+ * in memory: a JSON array of task objects, the same objects one per line (NDJSON, as exported), or
+ * CSV with a header line. Fields are title, description, status, dueDate, userId and assigneeIds
+ * (JSON array, or ';'-separated in CSV); anything else, such as the id and version columns of an
+ * export, is ignored. Values are passed on as text and checked by {@link TaskImportService}.
+ */
+abstract class TaskImportReader implements Closeable {
+
+    static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    static final MediaType CSV = MediaType.parseMediaType("text/csv");
+
+    // One row of input, unvalidated; row is its 1-based position
+    record Row(long row, String title, String description, String status, String dueDate, List<String> assigneeIds) {
+    }
+
+    protected long rows;
+
+    static TaskImportReader open(MediaType contentType, InputStream in, ObjectMapper objectMapper) throws IOException {
+        if (MediaType.APPLICATION_JSON.isCompatibleWith(contentType) || NDJSON.isCompatibleWith(contentType)) {
+            return new Json(objectMapper.createParser(in));
+        }
+        if (CSV.isCompatibleWith(contentType)) {
+            Charset charset = contentType.getCharset() != null ? contentType.getCharset() : StandardCharsets.UTF_8;
+            return new Csv(new BufferedReader(new InputStreamReader(in, charset), 64 * 1024));
+        }
+        throw new ResponseStatusException(HttpStatus.UNSUPPORTED_MEDIA_TYPE,
+                "Import accepts application/json, application/x-ndjson or text/csv");
+    }
+
+    // The next row, or null at the end of the input; IOException when the input is malformed
+    abstract Row next() throws IOException;
+
+    // Rows read so far, including one that failed to parse
+    long rowsRead() {
+        return rows;
+    }
+
+    // A JSON array of objects, or objects at the top level (NDJSON)
+    private static final class Json extends TaskImportReader {
+
+        private final JsonParser parser;
+        private boolean inArray;
+        private boolean started;
+
+        Json(JsonParser parser) {
+            this.parser = parser;
+        }
+
+        @Override
+        Row next() throws IOException {
+            JsonToken token = parser.nextToken();
+            if (!started) {
+                started = true;
+                if (token == JsonToken.START_ARRAY) {
+                    inArray = true;
+                    token = parser.nextToken();
+                }
+            }
+            if (token == null || (inArray && token == JsonToken.END_ARRAY)) {
+                return null;
+            }
+            rows++;
+            if (token != JsonToken.START_OBJECT) {
+                throw new IOException("expected a task object, found " + token);
+            }
+            JsonNode node = parser.readValueAsTree();
+            return new Row(rows, text(node, "title"), text(node, "description"), text(node, "status"),
+                    text(node, "dueDate"), assigneeIds(node));
+        }
+
+        @Override
+        public void close() throws IOException {
+            parser.close();
+        }
+
+        private static String text(JsonNode node, String field) {
+            JsonNode value = node.get(field);
+            return value == null || value.isNull() ? null : value.asText();
+        }
+
+        private static List<String> assigneeIds(JsonNode node) {
+            List<String> ids = new ArrayList<>();
+            String userId = text(node, "userId");
+            if (userId != null) {
+                ids.add(userId);
+            }
+            JsonNode assigneeIds = node.get("assigneeIds");
+            if (assigneeIds != null && assigneeIds.isArray()) {
+                assigneeIds.forEach(id -> ids.add(id.asText()));
+            } else if (assigneeIds != null && !assigneeIds.isNull()) {
+                ids.add(assigneeIds.asText());
+            }
+            return ids;
+        }
+    }
+
+    // RFC 4180 CSV (quoted fields may hold commas, quotes and line breaks); columns found by header name
+    private static final class Csv extends TaskImportReader {
+
+        private final BufferedReader in;
+        private final StringBuilder field = new StringBuilder();
+        private Map<String, Integer> columns;
+
+        Csv(BufferedReader in) {
+            this.in = in;
+        }
+
+        @Override
+        Row next() throws IOException {
+            if (columns == null) {
+                List<String> header = record();
+                if (header == null) {
+                    return null;
+                }
+                columns = new HashMap<>();
+                for (int i = 0; i < header.size(); i++) {
+                    columns.putIfAbsent(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+                }
+            }
+            List<String> record;
+            do {
+                record = record();
+                if (record == null) {
+                    return null;
+                }
+            } while (record.size() == 1 && record.get(0).isEmpty()); // blank line
+            rows++;
+
+            List<String> ids = new ArrayList<>();
+            String userId = value(record, "userid");
+            if (userId != null) {
+                ids.add(userId);
+            }
+            String assigneeIds = value(record, "assigneeids");
+            if (assigneeIds != null) {
+                for (String id : assigneeIds.split(";")) {
+                    if (!id.isBlank()) {
+                        ids.add(id.trim());
+                    }
+                }
+            }
+            return new Row(rows, value(record, "title"), value(record, "description"), value(record, "status"),
+                    value(record, "duedate"), ids);
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+
+        // Empty fields are absent, like a missing column
+        private String value(List<String> record, String column) {
+            Integer index = columns.get(column);
+            if (index == null || index >= record.size() || record.get(index).isEmpty()) {
+                return null;
+            }
+            return record.get(index);
+        }
+
+        // The fields of the next record, or null at the end of the input
+        private List<String> record() throws IOException {
+            int c = in.read();
+            if (c == -1) {
+                return null;
+            }
+            List<String> fields = new ArrayList<>();
+            field.setLength(0);
+            boolean quoted = false;
+            while (true) {
+                if (quoted) {
+                    if (c == -1) {
+                        throw new IOException("unterminated quoted field");
+                    }
+                    if (c == '"') {
+                        int next = in.read();
+                        if (next == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            c = next;
+                            continue;
+                        }
+                    } else {
+                        field.append((char) c);
+                    }
+                } else if (c == '"' && field.isEmpty()) {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\r' || c == '\n' || c == -1) {
+                    if (c == '\r') {
+                        in.mark(1);
+                        if (in.read() != '\n') {
+                            in.reset();
+                        }
+                    }
+                    fields.add(field.toString());
+                    return fields;
+                } else {
+                    field.append((char) c);
+                }
+                c = in.read();
+            }
+        }
+    }
+}
@@ -0,0 +1,340 @@
+package com.taskmgmt.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmgmt.dto.TaskImportErrorDto;
+import com.taskmgmt.dto.TaskImportResultDto;
+import com.taskmgmt.entity.TaskStatus;
+import com.taskmgmt.event.TaskChangeEvent;
+import com.taskmgmt.event.TaskChangeType;
+import com.taskmgmt.repository.PooledIdAllocator;
+import com.taskmgmt.repository.TaskAccessView;
+import com.taskmgmt.repository.UserRepository;
+import com.taskmgmt.security.AuthenticatedUser;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+
+/**
+ * Bulk task creation for admins (POST /api/admin/tasks/import).
+ *
+ * The body is read row by row ({@link TaskImportReader}) and handled {@code tasks.import.chunk-size}
+ * rows at a time: user ids not seen in an earlier chunk are checked in one query, the rows are
+ * validated in parallel, and the valid ones are written in one transaction per chunk as two JDBC
+ * batches: tasks, whose ids the database assigns in insertion order (read back as generated keys),
+ * then assignments, with ids reserved from the pooled table generator TaskAssignee uses
+ * ({@link PooledIdAllocator}). Each committed
+ * chunk is reported to {@link TaskStatsCounter} and published as one CREATED {@link TaskChangeEvent},
+ * like a task created through {@link TaskService}. Invalid rows are skipped and reported, the rest
+ * are still imported; malformed input stops the import after the rows before it.
+ */
+@Slf4j
+@Service
+@Timed(value = "taskmgmt.service", description = "Service method calls")
+public class TaskImportService {
+
+    static final int MAX_TITLE_LENGTH = 255;
+
+    // allocationSize of the @TableGenerator on TaskAssignee
+    private static final int ID_ALLOCATION_SIZE = 50;
+
+    private static final String INSERT_TASK = "INSERT INTO tasks"
+            + " (title, description, status, due_date, created_at, created_by, version)"
+            + " VALUES (?, ?, ?, ?, ?, ?, 0)";
+    private static final String INSERT_ASSIGNEE = "INSERT INTO task_assignees (id, task_id, user_id, created_at) VALUES (?, ?, ?, ?)";
+
+    private final UserRepository userRepository;
+    private final PooledIdAllocator idAllocator;
+    private final JdbcTemplate jdbcTemplate;
+    private final TaskStatsCounter taskStats;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+    private final int maxErrors;
+
+    public TaskImportService(UserRepository userRepository,
+                             PooledIdAllocator idAllocator,
+                             JdbcTemplate jdbcTemplate,
+                             TaskStatsCounter taskStats,
+                             ApplicationEventPublisher eventPublisher,
+                             TransactionTemplate transactionTemplate,
+                             ObjectMapper objectMapper,
+                             @Value("${tasks.import.chunk-size:1000}") int chunkSize,
+                             @Value("${tasks.import.max-errors:1000}") int maxErrors) {
+        this.userRepository = userRepository;
+        this.idAllocator = idAllocator;
+        this.jdbcTemplate = jdbcTemplate;
+        this.taskStats = taskStats;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+        this.maxErrors = maxErrors;
+    }
+
+    // Creates a task per row of body, created by admin; returns counts and the rows that failed
+    public TaskImportResultDto importTasks(MediaType contentType, InputStream body, AuthenticatedUser admin)
+            throws IOException {
+        long started = System.nanoTime();
+        Report report = new Report();
+        KnownUsers users = new KnownUsers();
+        List<TaskImportReader.Row> chunk = new ArrayList<>(chunkSize);
+
+        try (TaskImportReader reader = TaskImportReader.open(contentType, body, objectMapper)) {
+            while (true) {
+                TaskImportReader.Row row;
+                try {
+                    row = reader.next();
+                } catch (IOException e) {
+                    report.rows = reader.rowsRead();
+                    report.error(reader.rowsRead(), "Malformed input, import stopped here: " + e.getMessage());
+                    break;
+                }
+                if (row == null) {
+                    report.rows = reader.rowsRead();
+                    break;
+                }
+                chunk.add(row);
+                if (chunk.size() == chunkSize) {
+                    importChunk(chunk, users, admin, report);
+                    chunk.clear();
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, users, admin, report);
+        }
+
+        log.info("Imported {} of {} tasks in {} ms", report.imported, report.rows,
+                (System.nanoTime() - started) / 1_000_000);
+        report.errors.sort(Comparator.comparingLong(TaskImportErrorDto::getRow));
+        return new TaskImportResultDto(report.rows, report.imported, report.failed, report.errors);
+    }
+
+    private void importChunk(List<TaskImportReader.Row> chunk, KnownUsers users, AuthenticatedUser admin, Report report) {
+        users.resolve(chunk);
+
+        // Pure checks against the resolved ids: no shared state is written here
+        List<Validated> validated = chunk.parallelStream().map(row -> validate(row, users)).toList();
+
+        List<Validated> valid = new ArrayList<>(validated.size());
+        int assignments = 0;
+        for (Validated row : validated) {
+            if (row.error() != null) {
+                report.error(row.row(), row.error());
+            } else {
+                valid.add(row);
+                assignments += row.assigneeIds().size();
+            }
+        }
+        if (valid.isEmpty()) {
+            return;
+        }
+
+        try {
+            long firstAssignmentId = assignments > 0
+                    ? idAllocator.allocate("task_assignees", ID_ALLOCATION_SIZE, assignments) : 0;
+            transactionTemplate.executeWithoutResult(tx -> insert(valid, firstAssignmentId, admin));
+            report.imported += valid.size();
+        } catch (DataAccessException e) {
+            // e.g. a user deleted since it was resolved: the chunk is rolled back as a whole
+            log.warn("Could not import rows {}-{}", valid.get(0).row(), valid.get(valid.size() - 1).row(), e);
+            String reason = "Not saved: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            for (Validated row : valid) {
+                report.error(row.row(), reason);
+            }
+        }
+    }
+
+    // Plain JDBC batches: no entity state, dirty checking or cache puts for rows nobody has read yet
+    private void insert(List<Validated> rows, long firstAssignmentId, AuthenticatedUser admin) {
+        Timestamp createdAt = Timestamp.from(Instant.now());
+        Calendar utc = Calendar.getInstance(TimeZone.getTimeZone("UTC")); // as Hibernate stores Instant
+
+        GeneratedKeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_TASK, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement statement, int i) throws SQLException {
+                        Validated row = rows.get(i);
+                        statement.setString(1, row.title());
+                        statement.setString(2, row.description());
+                        statement.setString(3, row.status().name());
+                        statement.setDate(4, row.dueDate() != null ? Date.valueOf(row.dueDate()) : null);
+                        statement.setTimestamp(5, createdAt, utc);
+                        statement.setLong(6, admin.getId());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return rows.size();
+                    }
+                }, keys);
+        List<Map<String, Object>> generated = keys.getKeyList();
+        if (generated.size() != rows.size()) {
+            throw new IncorrectResultSizeDataAccessException("Generated task ids", rows.size(), generated.size());
+        }
+
+        List<Long> taskIds = new ArrayList<>(rows.size());
+        List<TaskAccessView> created = new ArrayList<>(rows.size());
+        List<long[]> assignments = new ArrayList<>(rows.size());
+        List<Long> assigneeIds = new ArrayList<>(rows.size());
+
+        long assignmentId = firstAssignmentId;
+        for (int i = 0; i < rows.size(); i++) {
+            Validated row = rows.get(i);
+            long taskId = ((Number) generated.get(i).values().iterator().next()).longValue();
+            taskIds.add(taskId);
+            created.add(new TaskAccessView(taskId, true, row.status(), row.dueDate()));
+            for (Long userId : row.assigneeIds()) {
+                assignments.add(new long[]{assignmentId++, taskId, userId});
+                assigneeIds.add(userId);
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_ASSIGNEE, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement statement, int i) throws SQLException {
+                long[] assignment = assignments.get(i);
+                statement.setLong(1, assignment[0]);
+                statement.setLong(2, assignment[1]);
+                statement.setLong(3, assignment[2]);
+                statement.setTimestamp(4, createdAt, utc);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return assignments.size();
+            }
+        });
+
+        taskStats.tasksCreated(admin.getId(), created, assigneeIds);
+        eventPublisher.publishEvent(new TaskChangeEvent(TaskChangeType.CREATED, taskIds));
+    }
+
+    private static Validated validate(TaskImportReader.Row row, KnownUsers users) {
+        String title = row.title() != null ? row.title().trim() : "";
+        if (title.isEmpty()) {
+            return Validated.error(row, "title is required");
+        }
+        if (title.length() > MAX_TITLE_LENGTH) {
+            return Validated.error(row, "title is longer than " + MAX_TITLE_LENGTH + " characters");
+        }
+
+        TaskStatus status = TaskStatus.TODO;
+        if (row.status() != null && !row.status().isBlank()) {
+            try {
+                status = TaskStatus.valueOf(row.status().trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                return Validated.error(row, "unknown status '" + row.status() + "'");
+            }
+        }
+
+        LocalDate dueDate = null;
+        if (row.dueDate() != null && !row.dueDate().isBlank()) {
+            try {
+                dueDate = LocalDate.parse(row.dueDate().trim());
+            } catch (DateTimeParseException e) {
+                return Validated.error(row, "dueDate '" + row.dueDate() + "' is not yyyy-MM-dd");
+            }
+        }
+
+        Set<Long> assigneeIds = new LinkedHashSet<>();
+        for (String value : row.assigneeIds()) {
+            Long userId = parseId(value);
+            if (userId == null) {
+                return Validated.error(row, "user id '" + value + "' is not a number");
+            }
+            if (!users.exists(userId)) {
+                return Validated.error(row, "user " + userId + " not found");
+            }
+            assigneeIds.add(userId);
+        }
+
+        return new Validated(row.row(), title, row.description(), status, dueDate, List.copyOf(assigneeIds), null);
+    }
+
+    private static Long parseId(String value) {
+        try {
+            return Long.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // A row ready to insert, or its error
+    private record Validated(long row, String title, String description, TaskStatus status, LocalDate dueDate,
+                             List<Long> assigneeIds, String error) {
+
+        static Validated error(TaskImportReader.Row row, String error) {
+            return new Validated(row.row(), null, null, null, null, List.of(), error);
+        }
+    }
+
+    // User ids checked so far in this import; each chunk only queries the ids it adds
+    private final class KnownUsers {
+        private final Set<Long> existing = new HashSet<>();
+        private final Set<Long> missing = new HashSet<>();
+
+        void resolve(List<TaskImportReader.Row> rows) {
+            Set<Long> unseen = new HashSet<>();
+            for (TaskImportReader.Row row : rows) {
+                for (String value : row.assigneeIds()) {
+                    Long userId = parseId(value);
+                    if (userId != null && !existing.contains(userId) && !missing.contains(userId)) {
+                        unseen.add(userId);
+                    }
+                }
+            }
+            if (unseen.isEmpty()) {
+                return;
+            }
+            List<Long> ids = new ArrayList<>(unseen);
+            for (int from = 0; from < ids.size(); from += TaskService.BULK_CHUNK_SIZE) {
+                existing.addAll(userRepository.findExistingIds(
+                        ids.subList(from, Math.min(from + TaskService.BULK_CHUNK_SIZE, ids.size()))));
+            }
+            unseen.removeAll(existing);
+            missing.addAll(unseen);
+        }
+
+        boolean exists(Long userId) {
+            return existing.contains(userId);
+        }
+    }
+
+    // Running totals; only the first maxErrors failures are kept
+    private final class Report {
+        long rows;
+        long imported;
+        long failed;
+        final List<TaskImportErrorDto> errors = new ArrayList<>();
+
+        void error(long row, String message) {
+            failed++;
+            if (errors.size() < maxErrors) {
+                errors.add(new TaskImportErrorDto(row, message));
+            }
+        }
+    }
+}
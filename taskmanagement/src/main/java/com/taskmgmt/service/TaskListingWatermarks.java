@@ -0,0 +1,108 @@
+package com.taskmgmt.service;
+
+import com.taskmgmt.dto.TaskListRequest;
+import com.taskmgmt.event.TaskChangeEvent;
+import com.taskmgmt.repository.AssignmentView;
+import com.taskmgmt.repository.TaskAssigneeRepository;
+import com.taskmgmt.security.AuthenticatedUser;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Change watermarks behind the ETag of GET /api/tasks: one for the admin listing (every task) and
+ * one per user for the tasks assigned to them. An unchanged watermark means an unchanged listing,
+ * so a matching If-None-Match is answered with 304 without running the listing query.
+ *
+ * Each watermark is a counter row in task_listing_versions (V10), bumped for every
+ * {@link TaskChangeEvent} inside the transaction that publishes it: it commits or rolls back with
+ * the change, and every instance reads the same value, so writes made on any instance move it.
+ * Reading one is a primary-key lookup, whatever the size of the listing. Task writes that publish
+ * no event (direct SQL) do not move it.
+ *
+ * The tag is a hash of the watermark and the listing's query parameters, so each page and filter
+ * has a tag of its own.
+ */
+@Component
+public class TaskListingWatermarks {
+
+    private static final String ALL = "all";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TaskAssigneeRepository taskAssigneeRepository;
+
+    public TaskListingWatermarks(JdbcTemplate jdbcTemplate, TaskAssigneeRepository taskAssigneeRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.taskAssigneeRepository = taskAssigneeRepository;
+    }
+
+    // ETag value for the caller's task listing with these parameters
+    public String tag(AuthenticatedUser user, TaskListRequest request) {
+        String scope = user.isAdmin() ? ALL : userScope(user.getId());
+        Long version = jdbcTemplate.query("SELECT version FROM task_listing_versions WHERE scope = ?",
+                rs -> rs.next() ? rs.getLong(1) : 0L, scope);
+        String key = String.join("|", scope, String.valueOf(version), String.valueOf(request.getCursor()),
+                String.valueOf(request.getSize()), String.valueOf(request.getStatus()),
+                String.valueOf(request.getDueFrom()), String.valueOf(request.getDueTo()));
+        return DigestUtils.md5DigestAsHex(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // In the publishing transaction, after the change itself; assignees added by it are seen (auto flush).
+    // The users' rows are bumped in one statement and the shared admin row last, so a writer holds the
+    // admin row only until it commits
+    @EventListener
+    public void onTaskChange(TaskChangeEvent event) {
+        for (List<Long> chunk : TaskIdChunks.of(event.taskIds())) {
+            Collection<Long> userIds;
+            if (TaskIdChunks.dense(chunk)) {
+                Set<Long> taskIds = new HashSet<>(chunk);
+                userIds = new TreeSet<>();
+                for (AssignmentView assignment : taskAssigneeRepository.findAssignmentsBetween(
+                        TaskIdChunks.first(chunk), TaskIdChunks.last(chunk))) {
+                    if (taskIds.contains(assignment.taskId())) {
+                        userIds.add(assignment.userId());
+                    }
+                }
+            } else {
+                userIds = taskAssigneeRepository.findAssigneeIds(chunk);
+            }
+            bump(userIds.stream().map(TaskListingWatermarks::userScope).toList());
+        }
+        bump(List.of(ALL));
+    }
+
+    // A user's row is created on their first change; one created meanwhile by another transaction is bumped
+    private void bump(List<String> scopes) {
+        if (scopes.isEmpty()) {
+            return;
+        }
+        String in = String.join(", ", Collections.nCopies(scopes.size(), "?"));
+        int updated = jdbcTemplate.update(
+                "UPDATE task_listing_versions SET version = version + 1 WHERE scope IN (" + in + ")", scopes.toArray());
+        if (updated == scopes.size()) {
+            return;
+        }
+        Set<String> missing = new LinkedHashSet<>(scopes);
+        missing.removeAll(jdbcTemplate.queryForList(
+                "SELECT scope FROM task_listing_versions WHERE scope IN (" + in + ")", String.class, scopes.toArray()));
+        try {
+            jdbcTemplate.batchUpdate("INSERT INTO task_listing_versions (scope, version) VALUES (?, 1)",
+                    missing.stream().map(scope -> new Object[]{scope}).toList());
+        } catch (DuplicateKeyException e) {
+            for (String scope : missing) {
+                if (jdbcTemplate.update("UPDATE task_listing_versions SET version = version + 1 WHERE scope = ?", scope) == 0) {
+                    jdbcTemplate.update("INSERT INTO task_listing_versions (scope, version) VALUES (?, 1)", scope);
+                }
+            }
+        }
+    }
+
+    private static String userScope(Long userId) {
+        return "user-" + userId;
+    }
+}
@@ -0,0 +1,498 @@
+package com.taskmgmt.service;
+
+import com.taskmgmt.dto.TaskResponseDto;
+import com.taskmgmt.dto.TaskSearchPageDto;
+import com.taskmgmt.event.TaskChangeEvent;
+import com.taskmgmt.event.TaskChangeType;
+import com.taskmgmt.repository.AssignmentView;
+import com.taskmgmt.repository.TaskAssigneeRepository;
+import com.taskmgmt.repository.TaskRepository;
+import com.taskmgmt.repository.TaskSearchView;
+import com.taskmgmt.security.AuthenticatedUser;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.*;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexableField;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.*;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Full-text index over task title and description (Lucene), answering GET /api/tasks/search.
+ *
+ * Each document holds the task id, the analyzed text and the ids of the task's assignees, so a
+ * non-admin search is filtered inside the index instead of after it. Results are ranked by BM25
+ * with title matches weighted above description matches; only the ids come from the index, the
+ * rows themselves are read with one query per page.
+ *
+ * The index is rebuilt from the database in the background once the application is ready, by
+ * {@code tasks.search.rebuild-threads} workers each scanning a slice of the id range; until the
+ * first rebuild finishes, search answers 503. A failed rebuild is retried, waiting
+ * {@code tasks.search.rebuild-retry-delay} and doubling up to {@code rebuild-retry-max-delay}. It is
+ * kept current afterwards from {@link TaskChangeEvent}s (new tasks and new assignees; status changes
+ * do not affect it), applied in publish order on a single indexer thread after the publishing
+ * transaction commits. Searches see them after the next refresh, at most
+ * {@code tasks.search.refresh-interval} later: one refresh per interval rather than per change keeps
+ * segments large during an import, so there is less merging to do.
+ * Writes this instance publishes no event for (other instances, direct SQL) are picked up every
+ * {@code tasks.search.catch-up-interval} by re-indexing the tasks created or assigned since the last
+ * pass. Set {@code tasks.search.index-dir} to keep the index in memory-mapped files instead of on the heap.
+ */
+@Slf4j
+@Service
+public class TaskSearchIndex {
+
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    // Deepest result reachable by paging; ranked search is for finding, not for export
+    private static final int MAX_RESULTS = 10_000;
+    private static final int MAX_QUERY_TERMS = 16;
+    private static final float TITLE_BOOST = 2f;
+
+    private static final String ID = "id";
+    private static final String TITLE = "title";
+    private static final String DESCRIPTION = "description";
+    private static final String ASSIGNEE = "assignee";
+    // Stored with each document. Titles and descriptions do not change and assignments are only
+    // added, so a document whose count matches the database is current
+    private static final String ASSIGNEE_COUNT = "assigneeCount";
+
+    private final TaskRepository taskRepository;
+    private final TaskAssigneeRepository taskAssigneeRepository;
+    private final int rebuildThreads;
+    private final int chunkSize;
+    private final Duration retryDelay;
+    private final Duration maxRetryDelay;
+    private final Duration catchUpOverlap;
+
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final Directory directory;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+    private final ControlledRealTimeReopenThread<IndexSearcher> refresher;
+
+    // Tasks changed while a rebuild was running; re-read afterwards in case a worker saw an older row
+    private final Set<Long> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+    private volatile boolean rebuilding;
+    // Set once the first rebuild has finished; until then the index would answer with partial results
+    private volatile boolean ready;
+    // Changes up to here are in the index; the catch-up re-reads what was created or assigned since
+    private volatile Instant caughtUpTo;
+
+    private final ScheduledExecutorService rebuilder;
+    private final ThreadPoolExecutor indexer;
+
+    public TaskSearchIndex(TaskRepository taskRepository,
+                           TaskAssigneeRepository taskAssigneeRepository,
+                           @Value("${tasks.search.index-dir:}") String indexDir,
+                           @Value("${tasks.search.rebuild-threads:0}") int rebuildThreads,
+                           @Value("${tasks.search.rebuild-chunk-size:1000}") int chunkSize,
+                           @Value("${tasks.search.queue-capacity:10000}") int queueCapacity,
+                           @Value("${tasks.search.refresh-interval:1s}") Duration refreshInterval,
+                           @Value("${tasks.search.rebuild-retry-delay:1s}") Duration retryDelay,
+                           @Value("${tasks.search.rebuild-retry-max-delay:5m}") Duration maxRetryDelay,
+                           @Value("${tasks.search.catch-up-overlap:1m}") Duration catchUpOverlap) {
+        this.taskRepository = taskRepository;
+        this.taskAssigneeRepository = taskAssigneeRepository;
+        this.rebuildThreads = rebuildThreads > 0 ? rebuildThreads : Runtime.getRuntime().availableProcessors();
+        this.chunkSize = chunkSize;
+        this.retryDelay = retryDelay;
+        this.maxRetryDelay = maxRetryDelay;
+        this.catchUpOverlap = catchUpOverlap;
+        // One rebuild at a time, off the startup thread; failed ones are rescheduled here too
+        this.rebuilder = Executors.newSingleThreadScheduledExecutor(namedThreads("task-search-rebuild"));
+        // A single thread applies updates in publish order; when it falls behind, the publishing
+        // thread waits for room in the queue rather than dropping the change or applying it out of order
+        this.indexer = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(queueCapacity), namedThreads("task-search-indexer"),
+                TaskSearchIndex::waitForRoom);
+        try {
+            this.directory = indexDir.isBlank() ? new ByteBuffersDirectory() : FSDirectory.open(Path.of(indexDir));
+            this.writer = new IndexWriter(directory,
+                    new IndexWriterConfig(analyzer).setOpenMode(IndexWriterConfig.OpenMode.CREATE));
+            this.searcherManager = new SearcherManager(writer, null);
+            double intervalSeconds = refreshInterval.toMillis() / 1000.0;
+            this.refresher = new ControlledRealTimeReopenThread<>(writer, searcherManager, intervalSeconds, intervalSeconds);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open task search index", e);
+        }
+        refresher.setName("task-search-refresh");
+        refresher.setDaemon(true);
+        refresher.start();
+    }
+
+    public TaskSearchPageDto search(String q, AuthenticatedUser user, Integer page, Integer size) {
+        if (q == null || q.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Query must not be empty");
+        }
+        if (!ready) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Search index is still being built, retry shortly");
+        }
+        int pageNo = page == null ? 0 : page;
+        int pageSize = KeysetCursor.pageSize(size, DEFAULT_PAGE_SIZE, MAX_PAGE_SIZE);
+        if (pageNo < 0 || (long) (pageNo + 1) * pageSize > MAX_RESULTS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Page out of range");
+        }
+
+        Query query = parse(q);
+        if (query == null) {
+            return new TaskSearchPageDto(List.of(), pageNo, false);
+        }
+        if (!user.isAdmin()) {
+            query = new BooleanQuery.Builder()
+                    .add(query, BooleanClause.Occur.MUST)
+                    .add(LongPoint.newExactQuery(ASSIGNEE, user.getId()), BooleanClause.Occur.FILTER)
+                    .build();
+        }
+
+        List<Long> ids = new ArrayList<>();
+        boolean hasMore;
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                int from = pageNo * pageSize;
+                ScoreDoc[] hits = searcher.search(query, from + pageSize + 1).scoreDocs; // one extra: is there more?
+                hasMore = hits.length > from + pageSize;
+                StoredFields storedFields = searcher.storedFields();
+                for (int i = from; i < Math.min(hits.length, from + pageSize); i++) {
+                    ids.add(Long.parseLong(storedFields.document(hits[i].doc).get(ID)));
+                }
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return new TaskSearchPageDto(inRankOrder(ids), pageNo, hasMore);
+    }
+
+    // Startup does not wait for the scan; changes published meanwhile are re-read once it is done.
+    // The future completes once a rebuild has succeeded, after however many retries that takes
+    @EventListener(ApplicationReadyEvent.class)
+    public Future<?> rebuildInBackground() {
+        rebuilding = true;
+        CompletableFuture<Void> rebuilt = new CompletableFuture<>();
+        rebuilder.execute(() -> rebuild(rebuilt, 1));
+        return rebuilt;
+    }
+
+    private void rebuild(CompletableFuture<Void> rebuilt, int attempt) {
+        try {
+            rebuild();
+            ready = true;
+            rebuilt.complete(null);
+        } catch (RuntimeException e) {
+            // The database may be down or still starting; search stays as it was until a retry succeeds
+            Duration delay = retryDelay.multipliedBy(1L << Math.min(attempt - 1, 20));
+            if (delay.compareTo(maxRetryDelay) > 0) {
+                delay = maxRetryDelay;
+            }
+            log.error("Could not rebuild task search index (attempt {}), retrying in {}", attempt, delay, e);
+            rebuilding = true;
+            try {
+                rebuilder.schedule(() -> rebuild(rebuilt, attempt + 1), delay.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException shutdown) {
+                rebuilt.completeExceptionally(e);
+            }
+        }
+    }
+
+    private void rebuild() {
+        long start = System.nanoTime();
+        Instant scanStart = Instant.now();
+        rebuilding = true;
+        int indexed = 0;
+        ExecutorService workers = Executors.newFixedThreadPool(rebuildThreads, namedThreads("task-search-rebuild-worker"));
+        try {
+            writer.deleteAll();
+
+            long maxId = taskRepository.findMaxId();
+            long slice = maxId / rebuildThreads + 1;
+            List<Future<Integer>> parts = new ArrayList<>();
+            for (long from = 0; from < maxId; from += slice) {
+                long afterId = from;
+                long toId = Math.min(maxId, from + slice);
+                parts.add(workers.submit(() -> indexRange(afterId, toId)));
+            }
+            for (Future<Integer> part : parts) {
+                indexed += part.get();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not rebuild task search index", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Task search index rebuild interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Could not rebuild task search index", e.getCause());
+        } finally {
+            workers.shutdownNow();
+            rebuilding = false;
+        }
+
+        List<Long> changed = new ArrayList<>(changedDuringRebuild);
+        changedDuringRebuild.removeAll(changed);
+        reindex(changed);
+        refresh();
+        caughtUpTo = scanStart;
+        log.info("Indexed {} tasks for search in {} ms ({} threads)",
+                indexed, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), rebuildThreads);
+    }
+
+    // After commit; the index is updated on the indexer thread, off the request path
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChange(TaskChangeEvent event) {
+        if (event.type() == TaskChangeType.STATUS_CHANGED) {
+            return;
+        }
+        if (rebuilding) {
+            changedDuringRebuild.addAll(event.taskIds());
+        }
+        indexer.execute(() -> {
+            try {
+                reindex(event.taskIds());
+            } catch (RuntimeException e) {
+                // The task itself is saved; the next catch-up re-reads it
+                log.warn("Could not index tasks {}", event.taskIds(), e);
+            }
+        });
+    }
+
+    // Re-indexes tasks created or assigned since the last pass (less catch-up-overlap, for clock skew
+    // and transactions that committed late), in order with the event-driven updates on the indexer
+    // thread. Tasks this instance has already indexed from its own events are current and skipped
+    @Scheduled(fixedDelayString = "${tasks.search.catch-up-interval:1m}",
+            initialDelayString = "${tasks.search.catch-up-interval:1m}")
+    public void catchUp() {
+        indexer.execute(() -> {
+            if (!ready || rebuilding) {
+                return; // the rebuild reads everything anyway
+            }
+            try {
+                Instant now = Instant.now();
+                Instant since = caughtUpTo.minus(catchUpOverlap);
+                Set<Long> ids = new TreeSet<>(taskRepository.findIdsCreatedSince(since));
+                ids.addAll(taskAssigneeRepository.findTaskIdsAssignedSince(since));
+                refresh(); // so that the updates applied before this pass are seen as current
+                IndexSearcher searcher = searcherManager.acquire();
+                int written;
+                try {
+                    written = reindex(ids, searcher);
+                } finally {
+                    searcherManager.release(searcher);
+                }
+                caughtUpTo = now;
+                log.debug("Search index caught up on {} of {} tasks changed since {}", written, ids.size(), since);
+            } catch (IOException | RuntimeException e) {
+                // caughtUpTo stays put, so the next pass covers this one's window too
+                log.warn("Could not catch up the task search index", e);
+            }
+        });
+    }
+
+    // Waits until changes published so far are searchable
+    void awaitIndexing() throws InterruptedException, ExecutionException {
+        indexer.submit(this::refresh).get();
+    }
+
+    public int documentCount() {
+        return writer.getDocStats().numDocs;
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        refresher.close();
+        rebuilder.shutdownNow();
+        indexer.shutdownNow();
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    private int indexRange(long afterId, long toId) throws IOException {
+        int count = 0;
+        while (true) {
+            List<TaskSearchView> tasks = taskRepository.findSearchChunk(afterId, toId, Limit.of(chunkSize));
+            if (tasks.isEmpty()) {
+                return count;
+            }
+            long lastId = tasks.get(tasks.size() - 1).id();
+            Map<Long, List<Long>> assignees = byTask(taskAssigneeRepository.findAssignmentsBetween(afterId + 1, lastId));
+            for (TaskSearchView task : tasks) {
+                writer.addDocument(document(task, assignees.getOrDefault(task.id(), List.of())));
+            }
+            count += tasks.size();
+            afterId = lastId;
+        }
+    }
+
+    private void reindex(Collection<Long> taskIds) {
+        reindex(taskIds, null);
+    }
+
+    // Skips the tasks whose document in current (if given) is up to date; returns how many were written
+    private int reindex(Collection<Long> taskIds, IndexSearcher current) {
+        int written = 0;
+        for (List<Long> chunk : TaskIdChunks.of(taskIds)) {
+            List<TaskSearchView> tasks;
+            Map<Long, List<Long>> assignees;
+            if (TaskIdChunks.dense(chunk)) {
+                long first = TaskIdChunks.first(chunk);
+                long last = TaskIdChunks.last(chunk);
+                Set<Long> ids = new HashSet<>(chunk);
+                tasks = taskRepository.findSearchChunk(first - 1, last, Limit.of((int) (last - first + 1))).stream()
+                        .filter(task -> ids.contains(task.id()))
+                        .toList();
+                assignees = byTask(taskAssigneeRepository.findAssignmentsBetween(first, last));
+            } else {
+                tasks = taskRepository.findSearchViews(chunk);
+                assignees = byTask(taskAssigneeRepository.findAssignments(chunk));
+            }
+            try {
+                StoredFields storedFields = current != null ? current.storedFields() : null;
+                for (TaskSearchView task : tasks) {
+                    List<Long> assigneeIds = assignees.getOrDefault(task.id(), List.of());
+                    if (current != null && isCurrent(current, storedFields, task.id(), assigneeIds.size())) {
+                        continue;
+                    }
+                    writer.updateDocument(new Term(ID, task.id().toString()), document(task, assigneeIds));
+                    written++;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return written;
+    }
+
+    private static boolean isCurrent(IndexSearcher searcher, StoredFields storedFields, Long taskId, int assigneeCount)
+            throws IOException {
+        ScoreDoc[] hits = searcher.search(new TermQuery(new Term(ID, taskId.toString())), 1).scoreDocs;
+        if (hits.length == 0) {
+            return false;
+        }
+        IndexableField indexed = storedFields.document(hits[0].doc, Set.of(ASSIGNEE_COUNT)).getField(ASSIGNEE_COUNT);
+        return indexed != null && indexed.numericValue().intValue() == assigneeCount;
+    }
+
+    private static Map<Long, List<Long>> byTask(List<AssignmentView> assignments) {
+        Map<Long, List<Long>> byTask = new HashMap<>();
+        for (AssignmentView assignment : assignments) {
+            byTask.computeIfAbsent(assignment.taskId(), id -> new ArrayList<>()).add(assignment.userId());
+        }
+        return byTask;
+    }
+
+    private static Document document(TaskSearchView task, List<Long> assigneeIds) {
+        Document doc = new Document();
+        doc.add(new StringField(ID, task.id().toString(), Field.Store.YES));
+        if (task.title() != null) {
+            doc.add(new TextField(TITLE, task.title(), Field.Store.NO));
+        }
+        if (task.description() != null) {
+            doc.add(new TextField(DESCRIPTION, task.description(), Field.Store.NO));
+        }
+        for (Long assigneeId : assigneeIds) {
+            doc.add(new LongPoint(ASSIGNEE, assigneeId));
+        }
+        doc.add(new StoredField(ASSIGNEE_COUNT, assigneeIds.size()));
+        return doc;
+    }
+
+    // Every term must occur in the title or the description; null if the text has no terms
+    private Query parse(String q) {
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        int terms = 0;
+        try (TokenStream tokens = analyzer.tokenStream(TITLE, q)) {
+            CharTermAttribute term = tokens.addAttribute(CharTermAttribute.class);
+            tokens.reset();
+            while (tokens.incrementToken() && terms < MAX_QUERY_TERMS) {
+                String text = term.toString();
+                query.add(new BooleanQuery.Builder()
+                        .add(new BoostQuery(new TermQuery(new Term(TITLE, text)), TITLE_BOOST), BooleanClause.Occur.SHOULD)
+                        .add(new TermQuery(new Term(DESCRIPTION, text)), BooleanClause.Occur.SHOULD)
+                        .build(), BooleanClause.Occur.MUST);
+                terms++;
+            }
+            tokens.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return terms == 0 ? null : query.build();
+    }
+
+    private List<TaskResponseDto> inRankOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, TaskResponseDto> byId = new HashMap<>();
+        for (TaskResponseDto task : taskRepository.findDtosByIds(ids)) {
+            byId.put(task.getId(), task);
+        }
+        List<TaskResponseDto> tasks = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            TaskResponseDto task = byId.get(id);
+            if (task != null) {
+                tasks.add(task);
+            }
+        }
+        return tasks;
+    }
+
+    private void refresh() {
+        try {
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Blocks the publishing thread until the indexer has room; the queue stays FIFO, so order is kept
+    private static void waitForRoom(Runnable update, ThreadPoolExecutor executor) {
+        if (executor.isShutdown()) {
+            throw new RejectedExecutionException("Task search indexer is shut down");
+        }
+        try {
+            executor.getQueue().put(update);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted while waiting for the task search indexer", e);
+        }
+    }
+
+    private static ThreadFactory namedThreads(String prefix) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
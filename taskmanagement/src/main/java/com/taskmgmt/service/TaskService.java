@@ -1,35 +1,67 @@
 package com.taskmgmt.service;
 
 import com.taskmgmt.dto.AssigneeDto;
+import com.taskmgmt.dto.BulkStatusResultDto;
+import com.taskmgmt.dto.BulkStatusUpdateResponse;
+import com.taskmgmt.dto.TaskListRequest;
+import com.taskmgmt.dto.TaskPageDto;
 import com.taskmgmt.dto.TaskRequestDto;
 import com.taskmgmt.dto.TaskResponseDto;
 import com.taskmgmt.entity.*;
+import com.taskmgmt.event.TaskChangeEvent;
+import com.taskmgmt.event.TaskChangeType;
+import com.taskmgmt.repository.TaskAccessView;
 import com.taskmgmt.repository.TaskAssigneeRepository;
 import com.taskmgmt.repository.TaskRepository;
 import com.taskmgmt.repository.UserRepository;
+import com.taskmgmt.security.AuthenticatedUser;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "taskmgmt.service", description = "Service method calls")
 public class TaskService {
 
     private final TaskRepository taskRepository;
     private final UserRepository userRepository;
     private final TaskAssigneeRepository taskAssigneeRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TaskStatsCounter taskStats;
+    private final TransactionTemplate transactionTemplate;
+
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 500;
+
+    // Tries of an unconditional status update that keeps losing to concurrent writers
+    static final int STATUS_UPDATE_ATTEMPTS = 5;
+
+    // Tries of an assignment whose insert collided with a concurrent one
+    static final int ASSIGN_ATTEMPTS = 3;
+
+    // Ids per IN (...) list in bulk statements
+    static final int BULK_CHUNK_SIZE = 1000;
 
 
      //Admin creates a new task and assigns it to a user
 
-    public TaskResponseDto createTaskByAdmin(TaskRequestDto dto, String adminEmail) {
+    @Transactional
+    public TaskResponseDto createTaskByAdmin(TaskRequestDto dto, AuthenticatedUser admin) {
         User assignee = userRepository.findById(dto.getUserId())
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
-        User adminUser = userRepository.findByEmail(adminEmail)
-                .orElseThrow(() -> new RuntimeException("Admin not found"));
+        User adminUser = userRepository.getReferenceById(admin.getId());
 
         Task task = Task.builder()
                 .title(dto.getTitle())
@@ -46,91 +78,188 @@ public class TaskService {
                 .user(assignee)
                 .build();
         taskAssigneeRepository.save(assignment);
+        taskStats.taskCreated(admin.getId(), assignee.getId(), savedTask.getStatus(), savedTask.getDueDate());
+        eventPublisher.publishEvent(TaskChangeEvent.of(TaskChangeType.CREATED, savedTask.getId()));
 
         return TaskResponseDto.fromEntity(savedTask);
     }
 
 
-     //Get tasks for a specific user (via email)
+     //Get tasks assigned to a specific user, one keyset page at a time
 
-    public List<TaskResponseDto> getTasksForUser(String userEmail) {
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    public TaskPageDto getTasksForUser(Long userId, TaskListRequest request) {
+        int size = pageSize(request.getSize());
+        List<TaskResponseDto> tasks = taskAssigneeRepository.findTaskPageForUser(
+                userId, KeysetCursor.decode(request.getCursor()),
+                request.getStatus(), request.getDueFrom(), request.getDueTo(),
+                Limit.of(size + 1));
+        return toPage(tasks, size);
+    }
 
-        List<TaskAssignee> assignments = taskAssigneeRepository.findByUser(user);
-        List<TaskResponseDto> dtos = new ArrayList<>();
 
-        for (TaskAssignee a : assignments) {
-            dtos.add(TaskResponseDto.fromEntity(a.getTask()));
-        }
-        return dtos;
+     // Get all tasks (Admin only), one keyset page at a time
+
+    public TaskPageDto getAllTasks(TaskListRequest request) {
+        int size = pageSize(request.getSize());
+        List<TaskResponseDto> tasks = taskRepository.findPage(
+                KeysetCursor.decode(request.getCursor()),
+                request.getStatus(), request.getDueFrom(), request.getDueTo(),
+                Limit.of(size + 1));
+        return toPage(tasks, size);
     }
 
 
-     // Get all tasks (Admin only)
+     // Update task status (Admin or User) to newStatus whatever version the task is at
 
-    public List<TaskResponseDto> getAllTasks() {
-        List<Task> tasks = taskRepository.findAll();
-        List<TaskResponseDto> dtos = new ArrayList<>();
-        for (Task task : tasks) {
-            dtos.add(TaskResponseDto.fromEntity(task));
-        }
-        return dtos;
+    public TaskResponseDto updateTaskStatus(Long taskId, TaskStatus newStatus, AuthenticatedUser loggedInUser) {
+        return updateTaskStatus(taskId, newStatus, null, loggedInUser);
     }
 
 
-     // Update task status (Admin or User)
+     // Update task status only if the task is still at expectedVersion (null: whatever version is read)
+     // Hibernate writes it as UPDATE ... WHERE id = ? AND version = ?, so no row lock is held between read and write.
+     // A lost race is a TaskConflictException with the current task when the caller named a version;
+     // otherwise the update is retried on the fresh row a few times before giving up the same way
+
+    public TaskResponseDto updateTaskStatus(Long taskId, TaskStatus newStatus, Long expectedVersion,
+                                            AuthenticatedUser loggedInUser) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(tx -> applyStatus(taskId, newStatus, expectedVersion, loggedInUser));
+            } catch (ObjectOptimisticLockingFailureException e) {
+                if (expectedVersion != null || attempt >= STATUS_UPDATE_ATTEMPTS) {
+                    throw new TaskConflictException(currentTask(taskId));
+                }
+            }
+        }
+    }
 
-    public TaskResponseDto updateTaskStatus(Long taskId, TaskStatus newStatus, String loggedInUserEmail) {
-        Task task = taskRepository.findById(taskId)
+    private TaskResponseDto applyStatus(Long taskId, TaskStatus newStatus, Long expectedVersion,
+                                        AuthenticatedUser loggedInUser) {
+        Task task = taskRepository.findWithCreatorById(taskId)
                 .orElseThrow(() -> new RuntimeException("Task not found"));
 
-        User loggedInUser = userRepository.findByEmail(loggedInUserEmail)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-        boolean isAdmin = loggedInUser.getRole() == Role.ADMIN;
-        boolean isTaskOwner = task.getCreatedBy().equals(loggedInUser);
-        boolean isAssignee = taskAssigneeRepository.findByTaskAndUser(task, loggedInUser).isPresent();
+        boolean isAdmin = loggedInUser.isAdmin();
+        boolean isTaskOwner = task.getCreatedBy().getId().equals(loggedInUser.getId());
+        boolean isAssignee = !isAdmin && !isTaskOwner
+                && taskAssigneeRepository.existsByTaskIdAndUserId(taskId, loggedInUser.getId());
 
         if (!isAdmin && !isTaskOwner && !isAssignee) {
             throw new RuntimeException("Only task owner, assignee, or admin can update status!");
         }
+        if (expectedVersion != null && !expectedVersion.equals(task.getVersion())) {
+            throw new TaskConflictException(TaskResponseDto.fromEntity(task));
+        }
 
+        TaskStatus previousStatus = task.getStatus();
         task.setStatus(newStatus);
-        Task updated = taskRepository.save(task);
+        Task updated = taskRepository.saveAndFlush(task); // version check happens here, not at commit
+        taskStats.statusChanged(previousStatus, newStatus, task.getDueDate());
+        eventPublisher.publishEvent(TaskChangeEvent.of(TaskChangeType.STATUS_CHANGED, taskId));
 
         return TaskResponseDto.fromEntity(updated);
     }
 
+    private TaskResponseDto currentTask(Long taskId) {
+        List<TaskResponseDto> tasks = taskRepository.findDtosByIds(List.of(taskId));
+        if (tasks.isEmpty()) {
+            throw new RuntimeException("Task not found");
+        }
+        return tasks.get(0);
+    }
+
 
 
-     // Assign a new user to an existing task (collaboration)
+     // Update the status of many tasks at once (Admin, owner or assignee of each task)
+     // Per chunk of ids: one SELECT for existence + permission, one UPDATE for all permitted ids
+
+    @Transactional
+    public BulkStatusUpdateResponse bulkUpdateStatus(List<Long> taskIds, TaskStatus newStatus,
+                                                     AuthenticatedUser loggedInUser) {
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(taskIds));
+        Map<Long, String> outcomes = new HashMap<>();
+        List<Long> updatedIds = new ArrayList<>();
+        int updated = 0;
+
+        for (int from = 0; from < ids.size(); from += BULK_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + BULK_CHUNK_SIZE, ids.size()));
+
+            List<Long> permitted = new ArrayList<>();
+            List<TaskAccessView> permittedTasks = new ArrayList<>();
+            for (TaskAccessView access : taskRepository.findAccess(chunk, loggedInUser.getId())) {
+                if (loggedInUser.isAdmin() || access.ownerOrAssignee()) {
+                    permitted.add(access.id());
+                    permittedTasks.add(access);
+                    outcomes.put(access.id(), "UPDATED");
+                } else {
+                    outcomes.put(access.id(), "FORBIDDEN");
+                }
+            }
 
+            if (!permitted.isEmpty()) {
+                updated += taskRepository.updateStatus(permitted, newStatus);
+                updatedIds.addAll(permitted);
+                taskStats.statusChanged(permittedTasks, newStatus);
+            }
+        }
+        if (!updatedIds.isEmpty()) {
+            eventPublisher.publishEvent(new TaskChangeEvent(TaskChangeType.STATUS_CHANGED, updatedIds));
+        }
+
+        List<BulkStatusResultDto> results = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            results.add(new BulkStatusResultDto(id, outcomes.getOrDefault(id, "NOT_FOUND")));
+        }
+        return new BulkStatusUpdateResponse(updated, results);
+    }
+
+
+
+     // Assign a new user to an existing task (collaboration)
+     // Two requests adding the same user both pass the "already assigned" check; the loser's insert hits
+     // uk_task_assignees_task_user and is rolled back, then retried, where that user now counts as assigned
+
+    public List<AssigneeDto> assignUsersToTask(Long taskId, List<Long> assigneeIds, AuthenticatedUser loggedInUser) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(tx -> assignUsers(taskId, assigneeIds, loggedInUser));
+            } catch (DataIntegrityViolationException e) {
+                if (attempt >= ASSIGN_ATTEMPTS) {
+                    throw new ResponseStatusException(HttpStatus.CONFLICT, "Assignees changed concurrently, try again");
+                }
+            }
+        }
+    }
 
-    public List<AssigneeDto> assignUsersToTask(Long taskId, List<Long> assigneeIds, String loggedInUserEmail) {
+    private List<AssigneeDto> assignUsers(Long taskId, List<Long> assigneeIds, AuthenticatedUser loggedInUser) {
         Task task = taskRepository.findById(taskId)
                 .orElseThrow(() -> new RuntimeException("Task not found"));
 
-        User loggedInUser = userRepository.findByEmail(loggedInUserEmail)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-        if (!task.getCreatedBy().equals(loggedInUser.getId())
-                && loggedInUser.getRole() != Role.ADMIN) {
+        if (!task.getCreatedBy().getId().equals(loggedInUser.getId())
+                && !loggedInUser.isAdmin()) {
             throw new RuntimeException("Only task owner or admin can assign users!");
         }
 
 
+        // One query for the users, one for who is already assigned, one batched insert for the rest
+        Set<Long> requestedIds = new LinkedHashSet<>(assigneeIds);
+        Map<Long, User> users = new HashMap<>();
+        for (User user : userRepository.findAllById(requestedIds)) {
+            users.put(user.getId(), user);
+        }
+        for (Long userId : requestedIds) {
+            if (!users.containsKey(userId)) {
+                throw new RuntimeException("User not found with id: " + userId);
+            }
+        }
+
+        Set<Long> alreadyAssigned = new HashSet<>(taskAssigneeRepository.findAssignedUserIds(taskId, requestedIds));
+        List<TaskAssignee> newAssignments = new ArrayList<>();
         List<AssigneeDto> assignedUsers = new ArrayList<>();
-        for (Long userId : assigneeIds) {
-            User user = userRepository.findById(userId)
-                    .orElseThrow(() -> new RuntimeException("User not found with id: " + userId));
-
-            boolean alreadyAssigned = taskAssigneeRepository.existsByTaskAndUser(task, user);
-            if (!alreadyAssigned) {
-                TaskAssignee assignment = new TaskAssignee();
-                assignment.setTask(task);
-                assignment.setUser(user);
-                taskAssigneeRepository.save(assignment);
+        for (Long userId : requestedIds) {
+            User user = users.get(userId);
+            if (!alreadyAssigned.contains(userId)) {
+                newAssignments.add(TaskAssignee.builder().task(task).user(user).build());
             }
 
             assignedUsers.add(AssigneeDto.builder()
@@ -139,8 +268,25 @@ public class TaskService {
                     .email(user.getEmail())
                     .build());
         }
+        taskAssigneeRepository.saveAllAndFlush(newAssignments); // a duplicate fails here, before the hooks below
+        taskStats.assigned(newAssignments.stream().map(assignment -> assignment.getUser().getId()).toList());
+        if (!newAssignments.isEmpty()) {
+            eventPublisher.publishEvent(TaskChangeEvent.of(TaskChangeType.ASSIGNEES_ADDED, taskId));
+        }
 
         return assignedUsers;
     }
 
+
+    // One extra row is fetched to know whether another page exists
+    private static TaskPageDto toPage(List<TaskResponseDto> tasks, int size) {
+        boolean hasMore = tasks.size() > size;
+        List<TaskResponseDto> dtos = hasMore ? new ArrayList<>(tasks.subList(0, size)) : tasks;
+        String nextCursor = hasMore ? KeysetCursor.encode(dtos.get(dtos.size() - 1).getId()) : null;
+        return new TaskPageDto(dtos, nextCursor);
+    }
+
+    private static int pageSize(Integer requested) {
+        return KeysetCursor.pageSize(requested, DEFAULT_PAGE_SIZE, MAX_PAGE_SIZE);
+    }
 }
@@ -0,0 +1,218 @@
+package com.taskmgmt.service;
+
+import com.taskmgmt.dto.TaskStatsDto;
+import com.taskmgmt.entity.TaskStatus;
+import com.taskmgmt.repository.*;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Task counts per status, assignee and creator plus the overdue count, held in memory so the admin
+ * dashboard (GET /api/admin/stats) never scans the tasks table.
+ *
+ * {@link TaskService} reports every create, status change and assignment, and the counts move by
+ * exactly that change once its transaction has committed. Every
+ * {@code tasks.stats.reconcile-interval} the whole set is replaced by fresh GROUP BY counts, which
+ * picks up writes made by other instances, tasks that became overdue at midnight and any change
+ * that raced the previous reconciliation. Legacy rows without a status are left out of the status
+ * counts, the total and the overdue count.
+ */
+@Slf4j
+@Component
+public class TaskStatsCounter {
+
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+    private final TaskRepository taskRepository;
+    private final TaskAssigneeRepository taskAssigneeRepository;
+
+    private volatile Counts counts = new Counts(LocalDate.now());
+
+    public TaskStatsCounter(TaskRepository taskRepository, TaskAssigneeRepository taskAssigneeRepository) {
+        this.taskRepository = taskRepository;
+        this.taskAssigneeRepository = taskAssigneeRepository;
+    }
+
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${tasks.stats.reconcile-interval:5m}",
+            initialDelayString = "${tasks.stats.reconcile-interval:5m}")
+    public void reconcile() {
+        Counts fresh = new Counts(LocalDate.now());
+        for (StatusCountView view : taskRepository.countByStatus()) {
+            fresh.byStatus.set(view.status().ordinal(), view.count());
+        }
+        for (UserTaskCountView view : taskRepository.countByCreator()) {
+            fresh.byCreator.put(view.userId(), new AtomicLong(view.count()));
+        }
+        for (UserTaskCountView view : taskAssigneeRepository.countByAssignee()) {
+            fresh.byAssignee.put(view.userId(), new AtomicLong(view.count()));
+        }
+        fresh.overdue.set(taskRepository.countOverdue(fresh.today, TaskStatus.DONE));
+
+        Counts previous = counts;
+        counts = fresh;
+        if (previous.total() != fresh.total() || previous.overdue.get() != fresh.overdue.get()) {
+            log.debug("Task stats reconciled: total {} -> {}, overdue {} -> {}",
+                    previous.total(), fresh.total(), previous.overdue.get(), fresh.overdue.get());
+        }
+    }
+
+    public TaskStatsDto stats() {
+        Counts current = counts;
+        Map<TaskStatus, Long> byStatus = new EnumMap<>(TaskStatus.class);
+        for (TaskStatus status : STATUSES) {
+            byStatus.put(status, Math.max(0, current.byStatus.get(status.ordinal())));
+        }
+        return new TaskStatsDto(current.total(), byStatus, Math.max(0, current.overdue.get()),
+                snapshot(current.byAssignee), snapshot(current.byCreator), current.reconciledAt);
+    }
+
+    // Applied after commit, so a rolled-back change never moves a count
+    public void taskCreated(Long creatorId, Long assigneeId, TaskStatus status, LocalDate dueDate) {
+        afterCommit(() -> {
+            Counts current = counts;
+            current.count(status, 1);
+            add(current.byCreator, creatorId, 1);
+            add(current.byAssignee, assigneeId, 1);
+            if (current.isOverdue(status, dueDate)) {
+                current.overdue.incrementAndGet();
+            }
+        });
+    }
+
+    // Bulk form (import): tasks made by one creator, plus every assignment made to them
+    public void tasksCreated(Long creatorId, List<TaskAccessView> tasks, List<Long> assigneeIds) {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        afterCommit(() -> {
+            Counts current = counts;
+            for (TaskAccessView task : tasks) {
+                current.count(task.status(), 1);
+                if (current.isOverdue(task.status(), task.dueDate())) {
+                    current.overdue.incrementAndGet();
+                }
+            }
+            add(current.byCreator, creatorId, tasks.size());
+            for (Long userId : assigneeIds) {
+                add(current.byAssignee, userId, 1);
+            }
+        });
+    }
+
+    public void statusChanged(TaskStatus from, TaskStatus to, LocalDate dueDate) {
+        if (from == to) {
+            return;
+        }
+        afterCommit(() -> counts.move(from, to, dueDate));
+    }
+
+    // Bulk form: each task's status and due date as they were before the update
+    public void statusChanged(List<TaskAccessView> tasks, TaskStatus to) {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        afterCommit(() -> {
+            Counts current = counts;
+            for (TaskAccessView task : tasks) {
+                if (task.status() != to) {
+                    current.move(task.status(), to, task.dueDate());
+                }
+            }
+        });
+    }
+
+    public void assigned(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        afterCommit(() -> {
+            Counts current = counts;
+            for (Long userId : userIds) {
+                add(current.byAssignee, userId, 1);
+            }
+        });
+    }
+
+    private static void add(ConcurrentHashMap<Long, AtomicLong> byUser, Long userId, long delta) {
+        byUser.computeIfAbsent(userId, id -> new AtomicLong()).addAndGet(delta);
+    }
+
+    private static Map<Long, Long> snapshot(ConcurrentHashMap<Long, AtomicLong> byUser) {
+        Map<Long, Long> copy = new TreeMap<>();
+        byUser.forEach((userId, count) -> {
+            if (count.get() > 0) {
+                copy.put(userId, count.get());
+            }
+        });
+        return copy;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    // One generation of counts; a reconciliation swaps in a new one instead of mutating this
+    private static final class Counts {
+        private final LocalDate today;
+        private final LocalDateTime reconciledAt = LocalDateTime.now();
+        private final AtomicLongArray byStatus = new AtomicLongArray(STATUSES.length);
+        private final ConcurrentHashMap<Long, AtomicLong> byAssignee = new ConcurrentHashMap<>();
+        private final ConcurrentHashMap<Long, AtomicLong> byCreator = new ConcurrentHashMap<>();
+        private final AtomicLong overdue = new AtomicLong();
+
+        private Counts(LocalDate today) {
+            this.today = today;
+        }
+
+        // Overdue as of the day these counts were loaded, the same rule as the GROUP BY
+        // (where a NULL status never compares unequal to DONE)
+        private boolean isOverdue(TaskStatus status, LocalDate dueDate) {
+            return dueDate != null && dueDate.isBefore(today) && status != null && status != TaskStatus.DONE;
+        }
+
+        private void count(TaskStatus status, long delta) {
+            if (status != null) {
+                byStatus.addAndGet(status.ordinal(), delta);
+            }
+        }
+
+        private void move(TaskStatus from, TaskStatus to, LocalDate dueDate) {
+            count(from, -1);
+            count(to, 1);
+            boolean wasOverdue = isOverdue(from, dueDate);
+            boolean isOverdue = isOverdue(to, dueDate);
+            if (wasOverdue != isOverdue) {
+                overdue.addAndGet(isOverdue ? 1 : -1);
+            }
+        }
+
+        private long total() {
+            long total = 0;
+            for (int i = 0; i < byStatus.length(); i++) {
+                total += byStatus.get(i);
+            }
+            return total;
+        }
+    }
+}
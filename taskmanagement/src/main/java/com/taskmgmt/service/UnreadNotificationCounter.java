@@ -0,0 +1,73 @@
+package com.taskmgmt.service;
+
+import com.taskmgmt.repository.NotificationRepository;
+import com.taskmgmt.repository.UnreadCountView;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-user unread notification counts, held in memory so the badge count never reads the database.
+ *
+ * Loaded at startup with a single GROUP BY (served by idx_notifications_user_read); afterwards every
+ * insert and mark-read adjusts the count by exactly the number of rows it changed, once its
+ * transaction has committed. Those adjustments are local to this instance, so every
+ * {@code tasks.notifications.reconcile-interval} the counts are replaced by a fresh GROUP BY, which
+ * picks up notifications written or read on other instances (e.g. a sweep chunk run elsewhere).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UnreadNotificationCounter {
+
+    private final NotificationRepository notificationRepository;
+
+    private volatile ConcurrentHashMap<Long, AtomicLong> counts = new ConcurrentHashMap<>();
+
+    // Swapped in whole, so readers never see a half-loaded map; a change committed while the
+    // query runs may be missed and is corrected by the next reload
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${tasks.notifications.reconcile-interval:1m}",
+            initialDelayString = "${tasks.notifications.reconcile-interval:1m}")
+    public void reload() {
+        ConcurrentHashMap<Long, AtomicLong> fresh = new ConcurrentHashMap<>();
+        for (UnreadCountView view : notificationRepository.countUnreadByUser()) {
+            fresh.put(view.userId(), new AtomicLong(view.unread()));
+        }
+        counts = fresh;
+        log.debug("Loaded unread notification counts for {} users", fresh.size());
+    }
+
+    public long get(Long userId) {
+        AtomicLong count = counts.get(userId);
+        return count == null ? 0 : Math.max(0, count.get());
+    }
+
+    // Applied after commit, so a rolled-back insert or mark-read never moves the count
+    public void add(Long userId, long delta) {
+        if (delta == 0) {
+            return;
+        }
+        afterCommit(() -> counts.computeIfAbsent(userId, id -> new AtomicLong()).addAndGet(delta));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -3,6 +3,7 @@ package com.taskmgmt.service;
 import com.taskmgmt.dto.UserResponseDto;
 import com.taskmgmt.entity.User;
 import com.taskmgmt.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -11,6 +12,7 @@ import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "taskmgmt.service", description = "Service method calls")
 public class UserService {
 
     private final UserRepository userRepository;
@@ -0,0 +1,7 @@
+-- Change counters behind the task listing ETag (TaskListingWatermarks): 'all' for the admin listing,
+-- 'user-<id>' for the tasks assigned to a user, created on that user's first change
+CREATE TABLE task_listing_versions (
+    scope VARCHAR(32) NOT NULL PRIMARY KEY,
+    version BIGINT NOT NULL
+);
+INSERT INTO task_listing_versions (scope, version) VALUES ('all', 0);
@@ -0,0 +1,3 @@
+-- Tasks take their ids from AUTO_INCREMENT again, so ids follow insertion order across instances and
+-- imports. MySQL already moved the counter past the ids handed out from this row (V7).
+DELETE FROM id_generators WHERE gen_name = 'tasks';
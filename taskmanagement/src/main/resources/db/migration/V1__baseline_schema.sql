@@ -0,0 +1,41 @@
+-- Schema as previously generated by spring.jpa.hibernate.ddl-auto=update.
+-- Databases created that way are baselined at version 1 (spring.flyway.baseline-on-migrate)
+-- and only receive the migrations after this one.
+
+CREATE TABLE users (
+    id       BIGINT AUTO_INCREMENT PRIMARY KEY,
+    name     VARCHAR(255),
+    email    VARCHAR(255) NOT NULL,
+    password VARCHAR(255),
+    role     VARCHAR(32),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE tasks (
+    id          BIGINT AUTO_INCREMENT PRIMARY KEY,
+    title       VARCHAR(255),
+    description TEXT,
+    status      VARCHAR(32),
+    due_date    DATE,
+    created_at  TIMESTAMP(6),
+    created_by  BIGINT NOT NULL,
+    CONSTRAINT fk_tasks_created_by FOREIGN KEY (created_by) REFERENCES users (id)
+);
+
+CREATE TABLE task_assignees (
+    id      BIGINT AUTO_INCREMENT PRIMARY KEY,
+    task_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    CONSTRAINT fk_task_assignees_task FOREIGN KEY (task_id) REFERENCES tasks (id),
+    CONSTRAINT fk_task_assignees_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE TABLE notifications (
+    id         BIGINT AUTO_INCREMENT PRIMARY KEY,
+    message    VARCHAR(255),
+    created_at TIMESTAMP(6),
+    user_id    BIGINT NOT NULL,
+    task_id    BIGINT NOT NULL,
+    CONSTRAINT fk_notifications_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_notifications_task FOREIGN KEY (task_id) REFERENCES tasks (id)
+);
@@ -0,0 +1,27 @@
+-- Drop duplicate assignments left by the old exists-then-insert check, keeping the oldest row
+DELETE FROM task_assignees
+WHERE id NOT IN (
+    SELECT keep_id FROM (
+        SELECT MIN(id) AS keep_id FROM task_assignees GROUP BY task_id, user_id
+    ) keepers
+);
+
+-- (task_id, user_id): per-task lookups and the duplicate guard; (user_id, task_id): "my tasks" listing
+ALTER TABLE task_assignees ADD CONSTRAINT uk_task_assignees_task_user UNIQUE (task_id, user_id);
+CREATE INDEX idx_task_assignees_user_task ON task_assignees (user_id, task_id);
+
+-- Status / due-date filters and the overdue scan
+CREATE INDEX idx_tasks_status_due_date ON tasks (status, due_date);
+
+-- Pooled id blocks for entities using @TableGenerator(table = "id_generators"). The old id columns
+-- keep AUTO_INCREMENT: Hibernate now always supplies the id, which an identity column accepts.
+CREATE TABLE IF NOT EXISTS id_generators (
+    gen_name  VARCHAR(255) NOT NULL PRIMARY KEY,
+    gen_value BIGINT
+);
+
+-- Start the pooled id block above any id handed out by the old IDENTITY column
+-- (one allocation of headroom: the optimizer may hand out up to 49 ids below the stored value)
+DELETE FROM id_generators WHERE gen_name = 'task_assignees';
+INSERT INTO id_generators (gen_name, gen_value)
+SELECT 'task_assignees', COALESCE(MAX(id), 0) + 51 FROM task_assignees;
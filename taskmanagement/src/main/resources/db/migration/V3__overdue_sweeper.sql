@@ -0,0 +1,15 @@
+-- Progress of the overdue-task sweeper, so a restart resumes after the last processed task
+CREATE TABLE sweep_checkpoints (
+    name         VARCHAR(64) NOT NULL PRIMARY KEY,
+    sweep_date   DATE,
+    last_task_id BIGINT NOT NULL,
+    completed    BOOLEAN NOT NULL
+);
+
+INSERT INTO sweep_checkpoints (name, sweep_date, last_task_id, completed)
+VALUES ('overdue-tasks', NULL, 0, FALSE);
+
+-- Notifications switch to pooled table ids (batched inserts); start above the old IDENTITY ids
+DELETE FROM id_generators WHERE gen_name = 'notifications';
+INSERT INTO id_generators (gen_name, gen_value)
+SELECT 'notifications', COALESCE(MAX(id), 0) + 51 FROM notifications;
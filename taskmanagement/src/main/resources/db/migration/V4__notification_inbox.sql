@@ -0,0 +1,5 @@
+-- Read/unread state for the notification inbox ("read" is reserved in MySQL)
+ALTER TABLE notifications ADD COLUMN is_read BOOLEAN NOT NULL DEFAULT FALSE;
+
+-- Serves both the keyset inbox page (user_id, id) and the unread-only filter / startup count
+CREATE INDEX idx_notifications_user_read ON notifications (user_id, is_read, id);
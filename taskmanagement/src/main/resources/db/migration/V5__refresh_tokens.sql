@@ -0,0 +1,19 @@
+-- Opaque refresh tokens, stored as a SHA-256 hash. Every token rotated out of one login shares a
+-- family_id, which access tokens carry as their "sid" claim; revoking a session stamps revoked_at
+-- on the whole family.
+CREATE TABLE refresh_tokens (
+    id         BIGINT AUTO_INCREMENT PRIMARY KEY,
+    token_hash VARCHAR(64) NOT NULL,
+    family_id  VARCHAR(36) NOT NULL,
+    user_id    BIGINT NOT NULL,
+    expires_at TIMESTAMP(6) NOT NULL,
+    used       BOOLEAN NOT NULL,
+    revoked_at TIMESTAMP(6),
+    CONSTRAINT uk_refresh_tokens_hash UNIQUE (token_hash),
+    CONSTRAINT fk_refresh_tokens_user FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_refresh_tokens_family ON refresh_tokens (family_id);
+
+-- Recently revoked sessions are reloaded into memory by every instance
+CREATE INDEX idx_refresh_tokens_revoked ON refresh_tokens (revoked_at);
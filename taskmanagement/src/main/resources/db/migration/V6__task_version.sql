@@ -0,0 +1,3 @@
+-- Optimistic-lock version of each task (Task.version). Every write bumps it, including the bulk
+-- status update, so a task's version only ever grows; existing rows start at 0.
+ALTER TABLE tasks ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
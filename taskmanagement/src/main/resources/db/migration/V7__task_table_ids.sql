@@ -0,0 +1,4 @@
+-- Tasks switch to pooled table ids (batched inserts for the bulk import); start above the old IDENTITY ids
+DELETE FROM id_generators WHERE gen_name = 'tasks';
+INSERT INTO id_generators (gen_name, gen_value)
+SELECT 'tasks', COALESCE(MAX(id), 0) + 51 FROM tasks;
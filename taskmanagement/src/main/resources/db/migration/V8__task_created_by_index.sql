@@ -0,0 +1,3 @@
+-- "Tasks created by" lookups and the per-creator stats. Not part of the ddl-auto schema (V1), so it
+-- is created here, where databases baselined at V1 receive it too.
+CREATE INDEX idx_tasks_created_by ON tasks (created_by);
@@ -0,0 +1,5 @@
+-- When each assignment was made, and indexes on both creation times: the search index catches up
+-- on tasks and assignments added since its last pass, by any instance or bulk write
+ALTER TABLE task_assignees ADD COLUMN created_at TIMESTAMP(6);
+CREATE INDEX idx_tasks_created_at ON tasks (created_at);
+CREATE INDEX idx_task_assignees_created_at ON task_assignees (created_at);
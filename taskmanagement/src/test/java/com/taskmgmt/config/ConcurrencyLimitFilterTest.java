@@ -0,0 +1,72 @@
+package com.taskmgmt.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrencyLimitFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(1, 50, meterRegistry);
+
+    @Test
+    void requestOverTheLimitGets503OnceTheWaitRunsOut() throws Exception {
+        CountDownLatch inChain = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        FilterChain blocking = (request, response) -> {
+            inChain.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+
+        CompletableFuture<Void> first = CompletableFuture.runAsync(() -> {
+            try {
+                filter.doFilter(new MockHttpServletRequest("GET", "/api/tasks"), new MockHttpServletResponse(), blocking);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertTrue(inChain.await(5, TimeUnit.SECONDS));
+
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        MockFilterChain notCalled = new MockFilterChain();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/tasks"), rejected, notCalled);
+
+        assertEquals(503, rejected.getStatus());
+        assertEquals("1", rejected.getHeader("Retry-After"));
+        assertNull(notCalled.getRequest());
+        assertEquals(1, meterRegistry.get("http.server.requests.rejected").counter().count());
+
+        release.countDown();
+        first.get(5, TimeUnit.SECONDS);
+
+        // the slot is given back once the first request finishes
+        MockHttpServletResponse admitted = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/tasks"), admitted, new MockFilterChain());
+        assertEquals(200, admitted.getStatus());
+    }
+
+    @Test
+    void actuatorIsNotLimited() throws Exception {
+        ConcurrencyLimitFilter closed = new ConcurrencyLimitFilter(0, 0, meterRegistry);
+
+        MockHttpServletResponse health = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        closed.doFilter(new MockHttpServletRequest("GET", "/actuator/health"), health, chain);
+
+        assertEquals(200, health.getStatus());
+        assertNotNull(chain.getRequest());
+    }
+}
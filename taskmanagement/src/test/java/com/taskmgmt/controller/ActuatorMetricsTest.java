@@ -0,0 +1,67 @@
+package com.taskmgmt.controller;
+
+import com.taskmgmt.entity.Role;
+import com.taskmgmt.entity.User;
+import com.taskmgmt.repository.UserRepository;
+import com.taskmgmt.security.JwtUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Everything the dashboards rely on must show up on the Prometheus endpoint
+@SpringBootTest(properties = "tasks.sql.slow-query-threshold=0")
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class ActuatorMetricsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private JwtUtil jwtUtil;
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    void cleanUp() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void exportsServiceJwtQueryAndPoolMetrics() throws Exception {
+        User dev = userRepository.save(User.builder().name("Dev").email("dev@example.com").role(Role.USER).build());
+        String token = jwtUtil.generateToken(dev.getId(), dev.getEmail(), "USER");
+
+        mockMvc.perform(get("/api/tasks").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/tasks").header("Authorization", "Bearer not-a-token"))
+                .andExpect(status().isForbidden());
+
+        String metrics = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertTrue(metrics.contains("taskmgmt_service_seconds_count{"), "service timers");
+        assertTrue(metrics.contains("method=\"getTasksForUser\""), "service method tag");
+        assertTrue(metrics.contains("jwt_sign_seconds_count"), "jwt sign timer");
+        assertTrue(metrics.contains("outcome=\"valid\""), "jwt verify timer");
+        assertTrue(metrics.contains("outcome=\"invalid\""), "jwt verify failures");
+        assertTrue(metrics.contains("http_server_requests_queries_count{"), "queries per request");
+        assertTrue(metrics.contains("uri=\"/api/tasks\""), "queries per request by endpoint");
+        assertTrue(metrics.contains("sql_slow_queries_total"), "slow query counter");
+        assertTrue(metrics.contains("hikaricp_connections_active"), "connection pool");
+    }
+
+    @Test
+    void otherActuatorEndpointsNeedAdmin() throws Exception {
+        mockMvc.perform(get("/actuator/health")).andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/metrics")).andExpect(status().isForbidden());
+    }
+}
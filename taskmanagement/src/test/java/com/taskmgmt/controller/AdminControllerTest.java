@@ -1,7 +1,99 @@
 package com.taskmgmt.controller;
 
-import static org.junit.jupiter.api.Assertions.*;
+import com.taskmgmt.entity.Role;
+import com.taskmgmt.entity.Task;
+import com.taskmgmt.entity.TaskStatus;
+import com.taskmgmt.entity.User;
+import com.taskmgmt.repository.TaskRepository;
+import com.taskmgmt.repository.UserRepository;
+import com.taskmgmt.security.JwtUtil;
+import com.taskmgmt.service.TaskStatsCounter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
 class AdminControllerTest {
 
-}
\ No newline at end of file
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private JwtUtil jwtUtil;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private TaskStatsCounter taskStatsCounter;
+
+    @AfterEach
+    void cleanUp() {
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+        taskStatsCounter.reconcile();
+    }
+
+    @Test
+    void statsAreAdminOnly() throws Exception {
+        User admin = userRepository.save(User.builder().name("Admin").email("admin@example.com").role(Role.ADMIN).build());
+        User dev = userRepository.save(User.builder().name("Dev").email("dev@example.com").role(Role.USER).build());
+        taskRepository.save(Task.builder().title("Task").status(TaskStatus.IN_PROGRESS).createdBy(admin).build());
+        taskStatsCounter.reconcile();
+
+        mockMvc.perform(get("/api/admin/stats")
+                        .header("Authorization", "Bearer " + jwtUtil.generateToken(admin.getId(), admin.getEmail(), "ADMIN")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(1))
+                .andExpect(jsonPath("$.byStatus.IN_PROGRESS").value(1))
+                .andExpect(jsonPath("$.byCreator." + admin.getId()).value(1));
+        mockMvc.perform(get("/api/admin/stats")
+                        .header("Authorization", "Bearer " + jwtUtil.generateToken(dev.getId(), dev.getEmail(), "USER")))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void exportStreamsGzippedCsvToAdminsOnly() throws Exception {
+        User admin = userRepository.save(User.builder().name("Admin").email("admin@example.com").role(Role.ADMIN).build());
+        User dev = userRepository.save(User.builder().name("Dev").email("dev@example.com").role(Role.USER).build());
+        taskRepository.save(Task.builder().title("Export me").status(TaskStatus.TODO).createdBy(admin).build());
+        String adminToken = "Bearer " + jwtUtil.generateToken(admin.getId(), admin.getEmail(), "ADMIN");
+
+        MvcResult started = mockMvc.perform(get("/api/admin/tasks/export?format=csv&gzip=true&status=TODO")
+                        .header("Authorization", adminToken))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        byte[] body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/gzip"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"tasks.csv.gz\""))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        String csv;
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            csv = new String(gzip.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        assertEquals(2, csv.split("\r\n").length);
+        assertTrue(csv.contains(",Export me,,TODO,"));
+
+        mockMvc.perform(get("/api/admin/tasks/export?format=xml").header("Authorization", adminToken))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/admin/tasks/export")
+                        .header("Authorization", "Bearer " + jwtUtil.generateToken(dev.getId(), dev.getEmail(), "USER")))
+                .andExpect(status().isForbidden());
+    }
+}
@@ -1,7 +1,158 @@
 package com.taskmgmt.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmgmt.dto.AuthResponseDto;
+import com.taskmgmt.entity.Role;
+import com.taskmgmt.entity.User;
+import com.taskmgmt.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
 import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+// Hashes are written with argon2 here so the upgrade of a stored bcrypt hash can be observed
+@SpringBootTest(properties = {"auth.password.algorithm=argon2", "auth.password.argon2.memory=1024"})
+@AutoConfigureMockMvc
 class AuthControllerTest {
 
-}
\ No newline at end of file
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @AfterEach
+    void cleanUp() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void registeredUserCanLogIn() throws Exception {
+        perform("/api/auth/register", "{\"name\":\"Alice\",\"email\":\"alice@example.com\",\"password\":\"secret\"}")
+                .andExpect(status().isOk());
+        assertTrue(userRepository.findByEmail("alice@example.com").orElseThrow().getPassword().startsWith("{argon2}"));
+
+        perform("/api/auth/login", "{\"email\":\"alice@example.com\",\"password\":\"secret\"}")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accessToken").isNotEmpty())
+                .andExpect(jsonPath("$.role").value("USER"));
+    }
+
+    @Test
+    void legacyBcryptHashIsUpgradedOnLogin() throws Exception {
+        String legacy = new BCryptPasswordEncoder().encode("secret"); // stored before hashes were prefixed
+        userRepository.save(User.builder().name("Bob").email("bob@example.com").password(legacy).role(Role.USER).build());
+
+        perform("/api/auth/login", "{\"email\":\"bob@example.com\",\"password\":\"secret\"}")
+                .andExpect(status().isOk());
+
+        assertTrue(userRepository.findByEmail("bob@example.com").orElseThrow().getPassword().startsWith("{argon2}"));
+        perform("/api/auth/login", "{\"email\":\"bob@example.com\",\"password\":\"secret\"}")
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void wrongPasswordIsRejected() throws Exception {
+        perform("/api/auth/register", "{\"name\":\"Alice\",\"email\":\"alice@example.com\",\"password\":\"secret\"}")
+                .andExpect(status().isOk());
+
+        perform("/api/auth/login", "{\"email\":\"alice@example.com\",\"password\":\"wrong\"}")
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void refreshRotatesTheTokenAndReuseRevokesTheSession() throws Exception {
+        AuthResponseDto login = register("alice@example.com");
+
+        AuthResponseDto refreshed = refresh(login.getRefreshToken())
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString().transform(this::read);
+        assertNotEquals(login.getRefreshToken(), refreshed.getRefreshToken());
+        mockMvc.perform(get("/api/tasks").header("Authorization", "Bearer " + refreshed.getAccessToken()))
+                .andExpect(status().isOk());
+
+        // the spent token is presented again: the whole session goes, including the rotated token
+        refresh(login.getRefreshToken()).andExpect(status().isUnauthorized());
+        refresh(refreshed.getRefreshToken()).andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/tasks").header("Authorization", "Bearer " + refreshed.getAccessToken()))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void logoutRejectsTheSessionsAccessAndRefreshTokens() throws Exception {
+        AuthResponseDto login = register("alice@example.com");
+        mockMvc.perform(get("/api/tasks").header("Authorization", "Bearer " + login.getAccessToken()))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/api/auth/logout")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"refreshToken\":\"" + login.getRefreshToken() + "\"}"))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/tasks").header("Authorization", "Bearer " + login.getAccessToken()))
+                .andExpect(status().isForbidden());
+        refresh(login.getRefreshToken()).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void roleChangeTakesEffectOnTheNextRequestWithTheSameToken() throws Exception {
+        AuthResponseDto login = register("alice@example.com");
+        mockMvc.perform(get("/api/admin/stats").header("Authorization", "Bearer " + login.getAccessToken()))
+                .andExpect(status().isForbidden()); // the verified token is cached with ROLE_USER now
+
+        User alice = userRepository.findByEmail("alice@example.com").orElseThrow();
+        alice.setRole(Role.ADMIN);
+        userRepository.save(alice);
+
+        mockMvc.perform(get("/api/admin/stats").header("Authorization", "Bearer " + login.getAccessToken()))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void unknownRefreshTokenIsUnauthorized() throws Exception {
+        refresh("made-up").andExpect(status().isUnauthorized());
+    }
+
+    private AuthResponseDto register(String email) throws Exception {
+        perform("/api/auth/register", "{\"name\":\"User\",\"email\":\"" + email + "\",\"password\":\"secret\"}")
+                .andExpect(status().isOk());
+        return perform("/api/auth/login", "{\"email\":\"" + email + "\",\"password\":\"secret\"}")
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString().transform(this::read);
+    }
+
+    private ResultActions refresh(String refreshToken) throws Exception {
+        return mockMvc.perform(post("/api/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"refreshToken\":\"" + refreshToken + "\"}"));
+    }
+
+    private AuthResponseDto read(String json) {
+        try {
+            return objectMapper.readValue(json, AuthResponseDto.class);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Both endpoints complete asynchronously on the password hashing pool
+    private ResultActions perform(String path, String body) throws Exception {
+        return mockMvc.perform(asyncDispatch(mockMvc.perform(post(path)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andReturn()));
+    }
+}
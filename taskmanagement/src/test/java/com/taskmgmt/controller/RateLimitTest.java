@@ -0,0 +1,43 @@
+package com.taskmgmt.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// The limiter is part of the security chain and answers before the login endpoint does any hashing
+@SpringBootTest(properties = {
+        "tasks.rate-limit.enabled=true",
+        "tasks.rate-limit.rules[0].path=/api/auth/login",
+        "tasks.rate-limit.rules[0].method=POST",
+        "tasks.rate-limit.rules[0].capacity=2",
+        "tasks.rate-limit.rules[0].refill-per-second=0.1"})
+@AutoConfigureMockMvc
+class RateLimitTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void loginAttemptsOverTheLimitGet429() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(login()).andExpect(status().isOk()); // async: the attempt itself runs on the hashing pool
+        }
+        mockMvc.perform(login())
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "10"));
+    }
+
+    private static RequestBuilder login() {
+        return post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\":\"nobody@example.com\",\"password\":\"wrong\"}");
+    }
+}
@@ -0,0 +1,110 @@
+package com.taskmgmt.controller;
+
+import com.taskmgmt.entity.*;
+import com.taskmgmt.repository.TaskAssigneeRepository;
+import com.taskmgmt.repository.TaskRepository;
+import com.taskmgmt.repository.UserRepository;
+import com.taskmgmt.security.JwtUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.env.Environment;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Fires a burst of authenticated GET /api/tasks calls, all of which must succeed; run it on Java 21
+ * with {@code -Dspring.threads.virtual.enabled=true} for the virtual-thread mode and scale with
+ * -Dload.requests=N and -Dload.concurrency=N. Throughput and p50/p99 latency are logged at debug;
+ * the two modes are compared properly by RequestThreadingBenchmark in the JMH module.
+ */
+@Slf4j
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class RequestThreadingLoadTest {
+
+    private static final int REQUESTS = Integer.getInteger("load.requests", 1000);
+    private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 64);
+    private static final int TASKS = 50;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private Environment environment;
+    @Autowired
+    private JwtUtil jwtUtil;
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private TaskAssigneeRepository taskAssigneeRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    void cleanUp() {
+        taskAssigneeRepository.deleteAll();
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void burstOfTaskListingsIsServedWithoutErrors() throws Exception {
+        User dev = userRepository.save(User.builder().name("Dev").email("dev@example.com").role(Role.USER).build());
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < TASKS; i++) {
+            tasks.add(Task.builder().title("Task " + i).status(TaskStatus.TODO).createdBy(dev).build());
+        }
+        taskRepository.saveAll(tasks);
+
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/tasks?size=" + TASKS))
+                .header("Authorization", "Bearer " + jwtUtil.generateToken(dev.getId(), dev.getEmail(), "USER"))
+                .build();
+
+        // warm up the connection pool, caches and JIT before measuring
+        for (int i = 0; i < 50; i++) {
+            assertEquals(200, client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode());
+        }
+
+        ExecutorService callers = Executors.newFixedThreadPool(CONCURRENCY);
+        long[] latencies = new long[REQUESTS];
+        List<Future<Integer>> statuses = new ArrayList<>();
+        long start = System.nanoTime();
+        try {
+            for (int i = 0; i < REQUESTS; i++) {
+                int index = i;
+                statuses.add(callers.submit(() -> {
+                    long sent = System.nanoTime();
+                    int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                    latencies[index] = System.nanoTime() - sent;
+                    return status;
+                }));
+            }
+            for (Future<Integer> status : statuses) {
+                assertEquals(200, status.get(60, TimeUnit.SECONDS));
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        Arrays.sort(latencies);
+        log.debug("{} threads: {} requests, concurrency {}, {} req/s, p50 {} ms, p99 {} ms",
+                Threading.VIRTUAL.isActive(environment) ? "virtual" : "platform", REQUESTS, CONCURRENCY,
+                Math.round(REQUESTS / (elapsed / 1e9)),
+                latencies[REQUESTS / 2] / 1_000_000, latencies[REQUESTS * 99 / 100] / 1_000_000);
+    }
+}
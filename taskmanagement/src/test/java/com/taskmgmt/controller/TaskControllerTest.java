@@ -1,7 +1,192 @@
 package com.taskmgmt.controller;
 
+import com.jayway.jsonpath.JsonPath;
+import com.taskmgmt.dto.TaskListRequest;
+import com.taskmgmt.entity.*;
+import com.taskmgmt.repository.TaskAssigneeRepository;
+import com.taskmgmt.repository.TaskRepository;
+import com.taskmgmt.repository.UserRepository;
+import com.taskmgmt.security.AuthenticatedUser;
+import com.taskmgmt.security.JwtUtil;
+import com.taskmgmt.service.TaskListingWatermarks;
+import com.taskmgmt.service.TaskService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+// Conditional requests: GET listing (304 while the caller's tasks are unchanged) and PUT status (If-Match)
+@SpringBootTest
+@AutoConfigureMockMvc
 class TaskControllerTest {
 
-}
\ No newline at end of file
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private JwtUtil jwtUtil;
+    @Autowired
+    private TaskService taskService;
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private TaskAssigneeRepository taskAssigneeRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private AuthenticatedUser admin;
+    private AuthenticatedUser dev;
+    private String devToken;
+    private String adminToken;
+    private Long devTaskId;
+    private Long qaTaskId;
+
+    @BeforeEach
+    void seed() {
+        User adminUser = userRepository.save(User.builder().name("Admin").email("admin@example.com").role(Role.ADMIN).build());
+        User devUser = userRepository.save(User.builder().name("Dev").email("dev@example.com").role(Role.USER).build());
+        User qa = userRepository.save(User.builder().name("QA").email("qa@example.com").role(Role.USER).build());
+        admin = AuthenticatedUser.fromEntity(adminUser);
+        dev = AuthenticatedUser.fromEntity(devUser);
+        devToken = jwtUtil.generateToken(devUser.getId(), devUser.getEmail(), "USER");
+        adminToken = jwtUtil.generateToken(adminUser.getId(), adminUser.getEmail(), "ADMIN");
+        devTaskId = saveTask(adminUser, devUser);
+        qaTaskId = saveTask(adminUser, qa);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        taskAssigneeRepository.deleteAll();
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void unchangedListingIsNotModifiedWithoutTheListingQuery() throws Exception {
+        String etag = listEtag(devToken);
+        double queriesBefore = listingQueries().totalAmount();
+
+        MvcResult notModified = mockMvc.perform(get("/api/tasks")
+                        .header("Authorization", "Bearer " + devToken)
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andReturn();
+
+        assertEquals("", notModified.getResponse().getContentAsString());
+        assertEquals(1, listingQueries().totalAmount() - queriesBefore, "only the watermark query");
+    }
+
+    @Test
+    void changeToAssignedTaskMovesOnlyThatUsersTag() throws Exception {
+        String devEtag = listEtag(devToken);
+        String adminEtag = listEtag(adminToken);
+
+        taskService.updateTaskStatus(qaTaskId, TaskStatus.DONE, admin);
+
+        assertEquals(devEtag, listEtag(devToken), "dev is not assigned to the changed task");
+        assertNotEquals(adminEtag, listEtag(adminToken));
+
+        taskService.bulkUpdateStatus(List.of(devTaskId), TaskStatus.IN_PROGRESS, admin);
+
+        String changed = listEtag(devToken);
+        assertNotEquals(devEtag, changed);
+        mockMvc.perform(get("/api/tasks")
+                        .header("Authorization", "Bearer " + devToken)
+                        .header("If-None-Match", devEtag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void everyPageAndFilterHasItsOwnTag() throws Exception {
+        String firstPage = listEtag(adminToken);
+        String nextCursor = JsonPath.read(mockMvc.perform(get("/api/tasks?size=1")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andReturn().getResponse().getContentAsString(), "$.nextCursor");
+
+        mockMvc.perform(get("/api/tasks?size=1&cursor=" + nextCursor)
+                        .header("Authorization", "Bearer " + adminToken)
+                        .header("If-None-Match", firstPage))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tasks[0].id").value(devTaskId));
+        mockMvc.perform(get("/api/tasks?status=DONE")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .header("If-None-Match", firstPage))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tasks").isEmpty());
+    }
+
+    @Test
+    void tagIsTheSameOnEveryInstance() throws Exception {
+        // Nothing kept in memory: another instance reads the same watermark, moved by this one's writes
+        TaskListingWatermarks otherInstance = new TaskListingWatermarks(jdbcTemplate, taskAssigneeRepository);
+        TaskListRequest firstPage = new TaskListRequest();
+        String devEtag = listEtag(devToken);
+        assertEquals(devEtag, "\"" + otherInstance.tag(dev, firstPage) + "\"");
+
+        taskService.updateTaskStatus(devTaskId, TaskStatus.DONE, admin);
+
+        String moved = otherInstance.tag(dev, firstPage);
+        assertNotEquals(devEtag, "\"" + moved + "\"");
+        assertEquals("\"" + moved + "\"", listEtag(devToken));
+    }
+
+    @Test
+    void staleIfMatchGetsConflictWithCurrentTask() throws Exception {
+        MvcResult first = mockMvc.perform(put("/api/tasks/" + devTaskId)
+                        .header("Authorization", "Bearer " + devToken)
+                        .header("If-Match", "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"IN_PROGRESS\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1\""))
+                .andReturn();
+        assertTrue(first.getResponse().getContentAsString().contains("\"version\":1"));
+
+        mockMvc.perform(put("/api/tasks/" + devTaskId)
+                        .header("Authorization", "Bearer " + devToken)
+                        .header("If-Match", "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"DONE\"}"))
+                .andExpect(status().isConflict())
+                .andExpect(header().string("ETag", "\"1\""))
+                .andExpect(jsonPath("$.status").value("IN_PROGRESS"))
+                .andExpect(jsonPath("$.version").value(1));
+    }
+
+    // Statements per GET /api/tasks, as counted by QueryCountFilter
+    private DistributionSummary listingQueries() {
+        return meterRegistry.get("http.server.requests.queries").tag("method", "GET").tag("uri", "/api/tasks").summary();
+    }
+
+    private String listEtag(String token) throws Exception {
+        String etag = mockMvc.perform(get("/api/tasks").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        assertNotNull(etag, "task listing without an ETag");
+        return etag;
+    }
+
+    private Long saveTask(User creator, User assignee) {
+        Task task = taskRepository.save(Task.builder().title("Task").status(TaskStatus.TODO).createdBy(creator).build());
+        taskAssigneeRepository.save(TaskAssignee.builder().task(task).user(assignee).build());
+        return task.getId();
+    }
+}
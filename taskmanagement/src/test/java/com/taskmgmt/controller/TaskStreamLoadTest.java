@@ -0,0 +1,112 @@
+package com.taskmgmt.controller;
+
+import com.taskmgmt.entity.*;
+import com.taskmgmt.repository.TaskAssigneeRepository;
+import com.taskmgmt.repository.TaskRepository;
+import com.taskmgmt.repository.UserRepository;
+import com.taskmgmt.security.AuthenticatedUser;
+import com.taskmgmt.security.JwtUtil;
+import com.taskmgmt.service.TaskEventStream;
+import com.taskmgmt.service.TaskService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Thousands of idle SSE subscribers must not pin a request thread each; -Dstream.subscribers=N to scale up
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "tasks.stream.max-per-user=100000")
+class TaskStreamLoadTest {
+
+    private static final int SUBSCRIBERS = Integer.getInteger("stream.subscribers", 2000);
+
+    // Tomcat's default server.tomcat.threads.max
+    private static final int MAX_REQUEST_THREADS = 200;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+    @Autowired
+    private TaskService taskService;
+    @Autowired
+    private TaskEventStream taskEventStream;
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private TaskAssigneeRepository taskAssigneeRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    private final List<Stream<String>> openStreams = new ArrayList<>();
+
+    @AfterEach
+    void cleanUp() {
+        openStreams.forEach(Stream::close);
+        taskAssigneeRepository.deleteAll();
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void holdsThousandsOfIdleSubscribersAndPushesToAssignees() throws Exception {
+        User admin = userRepository.save(User.builder().name("Admin").email("admin@example.com").role(Role.ADMIN).build());
+        User dev = userRepository.save(User.builder().name("Dev").email("dev@example.com").role(Role.USER).build());
+        User idle = userRepository.save(User.builder().name("Idle").email("idle@example.com").role(Role.USER).build());
+        Task task = taskRepository.save(Task.builder().title("Ship it").status(TaskStatus.TODO).createdBy(admin).build());
+        taskAssigneeRepository.save(TaskAssignee.builder().task(task).user(dev).build());
+
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        String idleToken = jwtUtil.generateToken(idle.getId(), idle.getEmail(), "USER");
+
+        List<CompletableFuture<HttpResponse<Stream<String>>>> idleResponses = new ArrayList<>();
+        for (int i = 0; i < SUBSCRIBERS; i++) {
+            idleResponses.add(client.sendAsync(streamRequest(idleToken), HttpResponse.BodyHandlers.ofLines()));
+        }
+        for (CompletableFuture<HttpResponse<Stream<String>>> response : idleResponses) {
+            HttpResponse<Stream<String>> connected = response.get(60, TimeUnit.SECONDS);
+            assertEquals(200, connected.statusCode());
+            openStreams.add(connected.body());
+        }
+
+        HttpResponse<Stream<String>> watcher = client.send(
+                streamRequest(jwtUtil.generateToken(dev.getId(), dev.getEmail(), "USER")),
+                HttpResponse.BodyHandlers.ofLines());
+        openStreams.add(watcher.body());
+
+        assertEquals(SUBSCRIBERS + 1, taskEventStream.subscriberCount());
+        long requestThreads = Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().startsWith("http-nio-") && thread.getName().contains("-exec-"))
+                .count();
+        assertTrue(requestThreads <= MAX_REQUEST_THREADS, "request threads: " + requestThreads);
+
+        taskService.updateTaskStatus(task.getId(), TaskStatus.DONE,
+                new AuthenticatedUser(dev.getId(), dev.getEmail(), null, Role.USER));
+
+        String event = CompletableFuture
+                .supplyAsync(() -> watcher.body().filter(line -> line.startsWith("event:")).findFirst().orElse(null))
+                .get(10, TimeUnit.SECONDS);
+        assertEquals("event:status-changed", event);
+    }
+
+    private HttpRequest streamRequest(String token) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/tasks/stream"))
+                .header("Authorization", "Bearer " + token)
+                .header("Accept", "text/event-stream")
+                .build();
+    }
+}
@@ -0,0 +1,162 @@
+package com.taskmgmt.repository;
+
+import com.taskmgmt.entity.*;
+import jakarta.persistence.EntityManager;
+import net.ttddyy.dsproxy.QueryCountHolder;
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Each use case loads the same entities in one query however much other data the users involved have
+@SpringBootTest
+class EntityGraphTest {
+
+    private static final int GROWTH = 50;
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private TaskAssigneeRepository taskAssigneeRepository;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private User admin;
+    private User dev;
+    private User qa;
+    private Task task;
+
+    @BeforeEach
+    void seed() {
+        admin = userRepository.save(User.builder().name("Admin").email("admin@example.com").role(Role.ADMIN).build());
+        dev = userRepository.save(User.builder().name("Dev").email("dev@example.com").role(Role.USER).build());
+        qa = userRepository.save(User.builder().name("QA").email("qa@example.com").role(Role.USER).build());
+        task = saveTask(dev, qa);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        taskAssigneeRepository.deleteAll();
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void statusUpdateReadLoadsTaskAndCreatorOnly() {
+        Load before = load(() -> taskRepository.findWithCreatorById(task.getId()).orElseThrow());
+        grow();
+        Load after = load(() -> taskRepository.findWithCreatorById(task.getId()).orElseThrow());
+
+        assertEquals(2, before.entities());
+        assertEquals(before, after);
+    }
+
+    @Test
+    void taskAssigneesLoadWithTheirUsersOnly() {
+        Load before = load(() -> taskAssigneeRepository.findByTaskId(task.getId()));
+        grow();
+        Load after = load(() -> taskAssigneeRepository.findByTaskId(task.getId()));
+
+        // two assignments and their two users, none of the users' other tasks
+        assertEquals(4, before.entities());
+        assertEquals(before, after);
+    }
+
+    @Test
+    void userAssignmentsLoadOneTaskAndCreatorEach() {
+        Load before = load(() -> taskAssigneeRepository.findByUser(qa));
+        grow();
+        Load after = load(() -> taskAssigneeRepository.findByUser(qa));
+
+        // the assignment, its task and the task's creator
+        assertEquals(3, before.entities());
+        assertEquals(before, after);
+    }
+
+    @Test
+    void overdueSweepLoadsOneCreatorPerTask() {
+        Load before = load(() -> taskRepository.findByStatus(TaskStatus.IN_PROGRESS));
+        grow();
+        Load after = load(() -> taskRepository.findByStatus(TaskStatus.IN_PROGRESS));
+
+        assertEquals(0, before.entities());
+        // 50 tasks, one creator; one query either way
+        assertEquals(GROWTH + 1, after.entities());
+        assertEquals(before.selects(), after.selects());
+    }
+
+    @Test
+    void loadingATaskLeavesItsCollectionsUnloaded() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Task loaded = taskRepository.findWithCreatorById(task.getId()).orElseThrow();
+
+            assertTrue(Hibernate.isInitialized(loaded.getCreatedBy()));
+            assertFalse(Hibernate.isInitialized(loaded.getAssignees()));
+            assertFalse(Hibernate.isInitialized(loaded.getNotifications()));
+            assertFalse(Hibernate.isInitialized(loaded.getCreatedBy().getCreatedTasks()));
+            assertFalse(loaded.toString().isEmpty());
+        });
+    }
+
+    @Test
+    void equalityFollowsTheDatabaseId() {
+        Task transientTask = Task.builder().title("New").status(TaskStatus.TODO).createdBy(dev).build();
+        Set<Task> tasks = new HashSet<>(Set.of(transientTask));
+
+        assertNotEquals(transientTask, Task.builder().title("New").status(TaskStatus.TODO).createdBy(dev).build());
+
+        Task saved = taskRepository.save(transientTask);
+        Task reloaded = transactionTemplate.execute(status -> taskRepository.findById(saved.getId()).orElseThrow());
+
+        // same hash before and after the id was assigned, so the set still finds it
+        assertTrue(tasks.contains(saved));
+        assertTrue(tasks.contains(reloaded));
+        assertEquals(saved, reloaded);
+        assertNotEquals(task, reloaded);
+    }
+
+    // Another 50 tasks created by dev, each assigned to dev: none of them belong to the calls above
+    private void grow() {
+        for (int i = 0; i < GROWTH; i++) {
+            Task other = taskRepository.save(Task.builder()
+                    .title("Other " + i).status(TaskStatus.IN_PROGRESS).createdBy(dev).build());
+            taskAssigneeRepository.save(TaskAssignee.builder().task(other).user(dev).build());
+        }
+    }
+
+    private Task saveTask(User... assignees) {
+        Task saved = taskRepository.save(Task.builder().title("Task").status(TaskStatus.TODO).createdBy(admin).build());
+        for (User assignee : assignees) {
+            taskAssigneeRepository.save(TaskAssignee.builder().task(saved).user(assignee).build());
+        }
+        return saved;
+    }
+
+    // Entities managed by the persistence context and SELECTs issued by one call
+    private Load load(Supplier<?> call) {
+        return transactionTemplate.execute(status -> {
+            QueryCountHolder.clear();
+            call.get();
+            return new Load(entityManager.unwrap(Session.class).getStatistics().getEntityCount(),
+                    QueryCountHolder.getGrandTotal().getSelect());
+        });
+    }
+
+    private record Load(int entities, long selects) {
+    }
+}
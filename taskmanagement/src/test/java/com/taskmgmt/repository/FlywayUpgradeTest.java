@@ -0,0 +1,66 @@
+package com.taskmgmt.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Upgrade of a database created by the old ddl-auto=update setup: the V1 schema with data in it,
+ * no Flyway history. Flyway baselines it at V1 (as configured in application.properties) and has
+ * to apply every later migration on top.
+ */
+class FlywayUpgradeTest {
+
+    private DataSource dataSource;
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void createLegacyDatabase() {
+        dataSource = new DriverManagerDataSource("jdbc:h2:mem:upgrade-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        jdbc = new JdbcTemplate(dataSource);
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/V1__baseline_schema.sql")).execute(dataSource);
+
+        jdbc.update("INSERT INTO users (id, name, email, role) VALUES (1, 'Admin', 'admin@example.com', 'ADMIN')");
+        jdbc.update("INSERT INTO tasks (id, title, status, created_by) VALUES (120, 'Old task', 'TODO', 1)");
+        jdbc.update("INSERT INTO task_assignees (id, task_id, user_id) VALUES (7, 120, 1)");
+        jdbc.update("INSERT INTO task_assignees (id, task_id, user_id) VALUES (9, 120, 1)"); // old duplicate
+        jdbc.update("INSERT INTO notifications (id, message, user_id, task_id) VALUES (300, 'Assigned', 1, 120)");
+    }
+
+    @Test
+    void baselinedDatabaseReceivesAllLaterMigrations() {
+        Flyway flyway = Flyway.configure()
+                .dataSource(dataSource)
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load();
+
+        assertTrue(flyway.migrate().success);
+
+        assertEquals("11", flyway.info().current().getVersion().getVersion());
+        assertEquals(List.of(7L), jdbc.queryForList("SELECT id FROM task_assignees", Long.class));
+        assertEquals(7 + 51, generatorValue("task_assignees"));
+        assertEquals(300 + 51, generatorValue("notifications"));
+        assertEquals(0L, jdbc.queryForObject("SELECT COUNT(*) FROM id_generators WHERE gen_name = 'tasks'", Long.class));
+        assertEquals(0L, jdbc.queryForObject("SELECT version FROM tasks WHERE id = 120", Long.class));
+        assertEquals(1L, jdbc.queryForObject("SELECT COUNT(*) FROM INFORMATION_SCHEMA.INDEXES"
+                + " WHERE INDEX_NAME = 'IDX_TASKS_CREATED_BY'", Long.class));
+        assertNull(jdbc.queryForObject("SELECT created_at FROM task_assignees WHERE id = 7", Timestamp.class));
+        assertEquals(0L, jdbc.queryForObject("SELECT version FROM task_listing_versions WHERE scope = 'all'", Long.class));
+    }
+
+    private long generatorValue(String name) {
+        return jdbc.queryForObject("SELECT gen_value FROM id_generators WHERE gen_name = ?", Long.class, name);
+    }
+}
@@ -0,0 +1,114 @@
+package com.taskmgmt.repository;
+
+import com.taskmgmt.dto.CacheStatsDto;
+import com.taskmgmt.entity.*;
+import com.taskmgmt.service.HibernateCacheStats;
+import jakarta.persistence.EntityManagerFactory;
+import net.ttddyy.dsproxy.QueryCountHolder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// The hot-path user and task reads must be answered from the second-level cache, and see every write
+@SpringBootTest
+class SecondLevelCacheTest {
+
+    private static final int LOOKUPS = 20;
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private HibernateCacheStats hibernateCacheStats;
+
+    private User dev;
+    private Task task;
+
+    @BeforeEach
+    void seed() {
+        dev = userRepository.save(User.builder().name("Dev").email("dev@example.com").role(Role.USER).build());
+        task = taskRepository.save(Task.builder().title("Task").status(TaskStatus.TODO).createdBy(dev).build());
+        entityManagerFactory.getCache().evictAll();
+        QueryCountHolder.clear();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void repeatedLookupByEmailReadsTheDatabaseOnce() {
+        // Region counters are shared by every test in the context: measure this test's lookups only
+        CacheStatsDto before = regionStats("hibernate:users");
+        for (int i = 0; i < LOOKUPS; i++) {
+            assertEquals(dev.getId(), userRepository.findByEmail("dev@example.com").orElseThrow().getId());
+        }
+
+        // natural id -> id, then the row: at most one SELECT each, for all lookups together
+        assertTrue(QueryCountHolder.getGrandTotal().getSelect() <= 2,
+                "selects: " + QueryCountHolder.getGrandTotal().getSelect());
+
+        CacheStatsDto after = regionStats("hibernate:users");
+        CacheStatsDto users = new CacheStatsDto(after.getName(), after.getHits() - before.getHits(),
+                after.getMisses() - before.getMisses(), after.getEvictions() - before.getEvictions(), after.getSize());
+        assertTrue(users.getHits() >= LOOKUPS - 1, users.toString());
+        assertTrue(users.getHitRatio() > 0.9, users.toString());
+    }
+
+    @Test
+    void unknownEmailIsEmpty() {
+        assertTrue(userRepository.findByEmail("nobody@example.com").isEmpty());
+    }
+
+    @Test
+    void userUpdateIsVisibleThroughTheCache() {
+        userRepository.findByEmail("dev@example.com").orElseThrow();
+
+        User renamed = userRepository.findById(dev.getId()).orElseThrow();
+        renamed.setName("Renamed");
+        userRepository.save(renamed);
+
+        assertEquals("Renamed", userRepository.findByEmail("dev@example.com").orElseThrow().getName());
+    }
+
+    @Test
+    void repeatedTaskLoadsHitTheCache() {
+        for (int i = 0; i < LOOKUPS; i++) {
+            assertEquals(TaskStatus.TODO, taskRepository.findById(task.getId()).orElseThrow().getStatus());
+        }
+
+        assertTrue(QueryCountHolder.getGrandTotal().getSelect() <= 1,
+                "selects: " + QueryCountHolder.getGrandTotal().getSelect());
+    }
+
+    @Test
+    void bulkStatusUpdateInvalidatesCachedTasks() {
+        taskRepository.findById(task.getId()).orElseThrow();
+
+        transactionTemplate.executeWithoutResult(status ->
+                taskRepository.updateStatus(List.of(task.getId()), TaskStatus.DONE));
+
+        assertEquals(TaskStatus.DONE, taskRepository.findById(task.getId()).orElseThrow().getStatus());
+    }
+
+    private CacheStatsDto regionStats(String name) {
+        return hibernateCacheStats.stats().stream()
+                .filter(stats -> stats.getName().equals(name))
+                .findFirst()
+                .orElseThrow();
+    }
+}
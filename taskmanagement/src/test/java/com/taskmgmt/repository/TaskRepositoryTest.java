@@ -0,0 +1,130 @@
+package com.taskmgmt.repository;
+
+import com.taskmgmt.config.HibernateCacheConfig;
+import com.taskmgmt.dto.TaskResponseDto;
+import com.taskmgmt.entity.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(HibernateCacheConfig.class)
+class TaskRepositoryTest {
+
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private TaskAssigneeRepository taskAssigneeRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    private User admin;
+    private User dev;
+
+    @BeforeEach
+    void setUp() {
+        admin = userRepository.save(User.builder().name("Admin").email("admin@example.com").role(Role.ADMIN).build());
+        dev = userRepository.save(User.builder().name("Dev").email("dev@example.com").role(Role.USER).build());
+
+        LocalDate start = LocalDate.of(2026, 1, 1);
+        for (int i = 0; i < 25; i++) {
+            Task task = taskRepository.save(Task.builder()
+                    .title("Task " + i)
+                    .status(i % 2 == 0 ? TaskStatus.TODO : TaskStatus.DONE)
+                    .dueDate(start.plusDays(i))
+                    .createdBy(admin)
+                    .build());
+            if (i % 5 == 0) {
+                taskAssigneeRepository.save(TaskAssignee.builder().task(task).user(dev).build());
+            }
+        }
+    }
+
+    @Test
+    void keysetPagesCoverAllTasksNewestFirstWithoutOverlap() {
+        List<Long> seen = new ArrayList<>();
+        long beforeId = Long.MAX_VALUE;
+        List<TaskResponseDto> page;
+        do {
+            page = taskRepository.findPage(beforeId, null, null, null, Limit.of(10));
+            page.forEach(t -> seen.add(t.getId()));
+            if (!page.isEmpty()) {
+                beforeId = page.get(page.size() - 1).getId();
+            }
+        } while (page.size() == 10);
+
+        assertEquals(25, seen.size());
+        for (int i = 1; i < seen.size(); i++) {
+            assertTrue(seen.get(i - 1) > seen.get(i));
+        }
+    }
+
+    @Test
+    void filtersByStatusAndDueDateRange() {
+        List<TaskResponseDto> page = taskRepository.findPage(Long.MAX_VALUE, TaskStatus.TODO,
+                LocalDate.of(2026, 1, 1), LocalDate.of(2026, 1, 10), Limit.of(50));
+
+        assertEquals(5, page.size());
+        assertTrue(page.stream().allMatch(t -> t.getStatus().equals("TODO")));
+        assertTrue(page.stream().allMatch(t -> "Admin".equals(t.getCreatedByName())));
+    }
+
+    @Test
+    void userPageOnlyContainsAssignedTasks() {
+        List<TaskResponseDto> page = taskAssigneeRepository.findTaskPageForUser(
+                dev.getId(), Long.MAX_VALUE, null, null, null, Limit.of(3));
+        List<TaskResponseDto> rest = taskAssigneeRepository.findTaskPageForUser(
+                dev.getId(), page.get(2).getId(), null, null, null, Limit.of(3));
+
+        assertEquals(3, page.size());
+        assertEquals(2, rest.size());
+        assertTrue(page.stream().allMatch(t -> t.getTitle().matches("Task (0|5|10|15|20)")));
+    }
+
+    @Test
+    void accessQueryFlagsOwnedAndAssignedTasks() {
+        List<TaskResponseDto> assigned = taskAssigneeRepository.findTaskPageForUser(
+                dev.getId(), Long.MAX_VALUE, null, null, null, Limit.of(1));
+        List<TaskResponseDto> all = taskRepository.findPage(Long.MAX_VALUE, null, null, null, Limit.of(2));
+        Long assignedId = assigned.get(0).getId();
+        Long otherId = all.get(1).getId();
+
+        List<TaskAccessView> forDev = taskRepository.findAccess(List.of(assignedId, otherId, -1L), dev.getId());
+        List<TaskAccessView> forAdmin = taskRepository.findAccess(List.of(assignedId, otherId), admin.getId());
+
+        assertEquals(2, forDev.size());
+        assertTrue(forDev.stream().anyMatch(a -> a.id().equals(assignedId) && a.ownerOrAssignee()));
+        assertTrue(forDev.stream().anyMatch(a -> a.id().equals(otherId) && !a.ownerOrAssignee()));
+        assertTrue(forAdmin.stream().allMatch(TaskAccessView::ownerOrAssignee));
+    }
+
+    @Test
+    void bulkUpdateChangesOnlyGivenIds() {
+        List<TaskResponseDto> todo = taskRepository.findPage(Long.MAX_VALUE, TaskStatus.TODO, null, null, Limit.of(3));
+        List<Long> ids = todo.stream().map(TaskResponseDto::getId).toList();
+
+        int updated = taskRepository.updateStatus(ids, TaskStatus.IN_PROGRESS);
+
+        assertEquals(3, updated);
+        assertEquals(3, taskRepository.findPage(Long.MAX_VALUE, TaskStatus.IN_PROGRESS, null, null, Limit.of(50)).size());
+    }
+
+    @Test
+    void duplicateAssignmentIsRejectedByUniqueConstraint() {
+        Task task = taskRepository.save(Task.builder().title("Dup").status(TaskStatus.TODO).createdBy(admin).build());
+        taskAssigneeRepository.saveAndFlush(TaskAssignee.builder().task(task).user(dev).build());
+
+        assertThrows(DataIntegrityViolationException.class, () ->
+                taskAssigneeRepository.saveAndFlush(TaskAssignee.builder().task(task).user(dev).build()));
+    }
+}
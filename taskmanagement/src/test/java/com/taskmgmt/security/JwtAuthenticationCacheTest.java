@@ -0,0 +1,84 @@
+package com.taskmgmt.security;
+
+import com.taskmgmt.dto.CacheStatsDto;
+import com.taskmgmt.entity.Role;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtAuthenticationCacheTest {
+
+    private final AuthenticatedUser alice = new AuthenticatedUser(7L, "alice@example.com", null, Role.USER);
+
+    @Test
+    void returnsCachedUserAndCountsHitsAndMisses() {
+        JwtAuthenticationCache cache = new JwtAuthenticationCache(100, 60_000);
+
+        assertNull(cache.get("token-a"));
+        cache.put("token-a", alice, new Date(System.currentTimeMillis() + 60_000));
+
+        assertSame(alice, cache.get("token-a"));
+        assertSame(alice, cache.get("token-a"));
+
+        CacheStatsDto stats = cache.stats();
+        assertEquals(2, stats.getHits());
+        assertEquals(1, stats.getMisses());
+        assertEquals(1, stats.getSize());
+    }
+
+    @Test
+    void keepsNoPasswordHashAndIsEvictedPerUser() {
+        JwtAuthenticationCache cache = new JwtAuthenticationCache(100, 60_000);
+        Date exp = new Date(System.currentTimeMillis() + 60_000);
+        cache.put("token-a", new AuthenticatedUser(7L, "alice@example.com", "{bcrypt}hash", Role.USER), exp);
+        cache.put("token-b", alice, exp);
+        cache.put("token-c", new AuthenticatedUser(8L, "bob@example.com", null, Role.USER), exp);
+
+        AuthenticatedUser cached = cache.get("token-a");
+        assertNull(cached.getPassword());
+        assertEquals(7L, cached.getId());
+        assertEquals("ROLE_USER", cached.getAuthorities().iterator().next().getAuthority());
+
+        cache.evictUser(7L);
+
+        assertNull(cache.get("token-a"));
+        assertNull(cache.get("token-b"));
+        assertNotNull(cache.get("token-c"));
+    }
+
+    @Test
+    void neverOutlivesTokenExpiration() throws InterruptedException {
+        JwtAuthenticationCache cache = new JwtAuthenticationCache(100, 60_000);
+
+        cache.put("token-a", alice, new Date(System.currentTimeMillis() + 20));
+        Thread.sleep(40);
+
+        assertNull(cache.get("token-a"));
+        assertEquals(1, cache.stats().getEvictions());
+        assertEquals(0, cache.stats().getSize());
+    }
+
+    @Test
+    void ignoresAlreadyExpiredTokens() {
+        JwtAuthenticationCache cache = new JwtAuthenticationCache(100, 60_000);
+
+        cache.put("token-a", alice, new Date(System.currentTimeMillis() - 1000));
+
+        assertEquals(0, cache.stats().getSize());
+    }
+
+    @Test
+    void staysWithinMaxSize() {
+        JwtAuthenticationCache cache = new JwtAuthenticationCache(50, 60_000);
+        Date exp = new Date(System.currentTimeMillis() + 60_000);
+
+        for (int i = 0; i < 500; i++) {
+            cache.put("token-" + i, alice, exp);
+        }
+
+        assertTrue(cache.stats().getSize() <= 50);
+        assertTrue(cache.stats().getEvictions() >= 450);
+    }
+}
@@ -0,0 +1,114 @@
+package com.taskmgmt.security;
+
+import com.taskmgmt.entity.Role;
+import com.taskmgmt.repository.RefreshTokenRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class JwtFilterTest {
+
+    private JwtUtil jwtUtil;
+    private CustomUserDetailsService userDetailsService;
+    private JwtAuthenticationCache authenticationCache;
+    private RevokedSessions revokedSessions;
+    private JwtFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        JwtKeyRing keyRing = new JwtKeyRing("TestOnlyVeryStrongSecretKey1234567890!", "");
+        jwtUtil = spy(new JwtUtil(keyRing, 60_000L, 120_000L, new SimpleMeterRegistry()));
+
+        userDetailsService = mock(CustomUserDetailsService.class);
+        when(userDetailsService.loadUserByUsername("alice@example.com"))
+                .thenReturn(new AuthenticatedUser(1L, "alice@example.com", "x", Role.USER));
+
+        authenticationCache = new JwtAuthenticationCache(100, 60_000);
+        revokedSessions = new RevokedSessions(mock(RefreshTokenRepository.class), authenticationCache,
+                mock(ApplicationEventPublisher.class), 60_000L);
+        filter = new JwtFilter(jwtUtil, userDetailsService, authenticationCache, revokedSessions, false);
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void repeatedRequestsWithSameTokenParseAndLoadOnce() throws Exception {
+        String token = jwtUtil.generateToken("alice@example.com", "USER");
+
+        for (int i = 0; i < 3; i++) {
+            SecurityContextHolder.clearContext();
+            filter.doFilter(request(token), new MockHttpServletResponse(), new MockFilterChain());
+            assertEquals("alice@example.com", SecurityContextHolder.getContext().getAuthentication().getName());
+        }
+
+        verify(jwtUtil, times(1)).parseVerifiedClaims(token);
+        verify(userDetailsService, times(1)).loadUserByUsername("alice@example.com");
+    }
+
+    @Test
+    void statelessModeBuildsPrincipalFromClaims() throws Exception {
+        JwtFilter statelessFilter =
+                new JwtFilter(jwtUtil, userDetailsService, new JwtAuthenticationCache(100, 60_000), revokedSessions, true);
+        String token = jwtUtil.generateToken(42L, "alice@example.com", "ADMIN");
+
+        statelessFilter.doFilter(request(token), new MockHttpServletResponse(), new MockFilterChain());
+
+        AuthenticatedUser principal =
+                (AuthenticatedUser) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        assertEquals(42L, principal.getId());
+        assertTrue(principal.isAdmin());
+        assertEquals("ROLE_ADMIN", principal.getAuthorities().iterator().next().getAuthority());
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    void statelessModeFallsBackToLookupForTokensWithoutUserId() throws Exception {
+        JwtFilter statelessFilter =
+                new JwtFilter(jwtUtil, userDetailsService, new JwtAuthenticationCache(100, 60_000), revokedSessions, true);
+        String token = jwtUtil.generateToken("alice@example.com", "USER");
+
+        statelessFilter.doFilter(request(token), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertEquals("alice@example.com", SecurityContextHolder.getContext().getAuthentication().getName());
+        verify(userDetailsService).loadUserByUsername("alice@example.com");
+    }
+
+    @Test
+    void tokenOfRevokedSessionIsRejectedEvenAfterBeingCached() throws Exception {
+        String token = jwtUtil.generateToken(1L, "alice@example.com", "USER", "session-1");
+        filter.doFilter(request(token), new MockHttpServletResponse(), new MockFilterChain());
+        assertNotNull(SecurityContextHolder.getContext().getAuthentication());
+
+        revokedSessions.revoke("session-1");
+        SecurityContextHolder.clearContext();
+        filter.doFilter(request(token), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    void invalidTokenLeavesRequestUnauthenticated() throws Exception {
+        filter.doFilter(request("not-a-jwt"), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verifyNoInteractions(userDetailsService);
+    }
+
+    private static MockHttpServletRequest request(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tasks");
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+}
@@ -0,0 +1,73 @@
+package com.taskmgmt.security;
+
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtKeyRingTest {
+
+    private static final String SECRET = "TestOnlyVeryStrongSecretKey1234567890!";
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void withoutKeysFileSignsWithDefaultKey() {
+        JwtKeyRing keyRing = new JwtKeyRing(SECRET, "");
+        JwtUtil jwtUtil = new JwtUtil(keyRing, 60_000L, 120_000L, new SimpleMeterRegistry());
+
+        String token = jwtUtil.generateToken("alice@example.com", "USER");
+
+        assertEquals(JwtKeyRing.DEFAULT_KID, keyRing.activeKid());
+        assertEquals("alice@example.com", jwtUtil.extractUsername(token));
+    }
+
+    @Test
+    void rotatedKeyIsPickedUpWithoutRestartAndOldTokensStillVerify() throws Exception {
+        Path keysFile = dir.resolve("jwt-keys.properties");
+        JwtKeyRing keyRing = new JwtKeyRing(SECRET, keysFile.toString());
+        JwtUtil jwtUtil = new JwtUtil(keyRing, 60_000L, 120_000L, new SimpleMeterRegistry());
+
+        String before = jwtUtil.generateToken("alice@example.com", "USER");
+
+        Files.writeString(keysFile, "active=k2\nkeys.k2=AnotherVeryStrongSecretKey0987654321!\n");
+        Files.setLastModifiedTime(keysFile, FileTime.fromMillis(System.currentTimeMillis()));
+        keyRing.reload();
+
+        String after = jwtUtil.generateToken("bob@example.com", "ADMIN");
+
+        assertEquals("k2", keyRing.activeKid());
+        assertEquals("k2", Jwts.parserBuilder().setSigningKeyResolver(keyRing).build()
+                .parseClaimsJws(after).getHeader().getKeyId());
+        assertTrue(jwtUtil.validateToken(before));
+        assertTrue(jwtUtil.validateToken(after));
+    }
+
+    @Test
+    void invalidKeysFileKeepsCurrentKeys() throws Exception {
+        Path keysFile = dir.resolve("jwt-keys.properties");
+        Files.writeString(keysFile, "active=missing\n");
+        JwtKeyRing keyRing = new JwtKeyRing(SECRET, keysFile.toString());
+
+        assertEquals(JwtKeyRing.DEFAULT_KID, keyRing.activeKid());
+    }
+
+    @Test
+    void tokenWithUnknownKidIsRejected() throws Exception {
+        Path keysFile = dir.resolve("jwt-keys.properties");
+        Files.writeString(keysFile, "active=k2\nkeys.k2=AnotherVeryStrongSecretKey0987654321!\n");
+        JwtUtil issuer = new JwtUtil(new JwtKeyRing(SECRET, keysFile.toString()), 60_000L, 120_000L, new SimpleMeterRegistry());
+        JwtUtil verifier = new JwtUtil(new JwtKeyRing(SECRET, ""), 60_000L, 120_000L, new SimpleMeterRegistry());
+
+        String token = issuer.generateToken("alice@example.com", "USER");
+
+        assertFalse(verifier.validateToken(token));
+    }
+}
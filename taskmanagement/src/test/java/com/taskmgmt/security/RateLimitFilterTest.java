@@ -0,0 +1,96 @@
+package com.taskmgmt.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void burstIsAllowedThenRejectedWithRetryAfter() throws Exception {
+        RateLimitFilter filter = filter(rule("/api/auth/login", "POST", 2, 0.5));
+
+        assertEquals(200, call(filter, "POST", "/api/auth/login", "10.0.0.1").getStatus());
+        assertEquals(200, call(filter, "POST", "/api/auth/login", "10.0.0.1").getStatus());
+        MockHttpServletResponse limited = call(filter, "POST", "/api/auth/login", "10.0.0.1");
+
+        assertEquals(429, limited.getStatus());
+        assertEquals("2", limited.getHeader("Retry-After")); // one token every two seconds
+        assertEquals(1, meterRegistry.get("http.server.requests.throttled").counter().count());
+
+        // other clients, methods and paths have their own buckets or none at all
+        assertEquals(200, call(filter, "POST", "/api/auth/login", "10.0.0.2").getStatus());
+        assertEquals(200, call(filter, "GET", "/api/auth/login", "10.0.0.1").getStatus());
+        assertEquals(200, call(filter, "GET", "/api/tasks", "10.0.0.1").getStatus());
+    }
+
+    @Test
+    void authenticatedCallersAreLimitedPerUserNotPerAddress() throws Exception {
+        RateLimitFilter filter = filter(rule("/api/**", null, 1, 1));
+
+        authenticate("alice@example.com");
+        assertEquals(200, call(filter, "GET", "/api/tasks", "10.0.0.1").getStatus());
+        assertEquals(429, call(filter, "GET", "/api/tasks", "10.0.0.2").getStatus());
+
+        authenticate("bob@example.com");
+        assertEquals(200, call(filter, "GET", "/api/tasks", "10.0.0.1").getStatus());
+    }
+
+    @Test
+    void bucketsRefillAndIdleOnesAreEvicted() throws Exception {
+        RateLimitFilter filter = filter(rule("/api/**", null, 1, 1000));
+
+        assertEquals(200, call(filter, "GET", "/api/tasks", "10.0.0.1").getStatus());
+        assertEquals(1, filter.bucketCount());
+
+        Thread.sleep(20);
+        filter.evictIdle();
+        assertEquals(0, filter.bucketCount());
+        assertEquals(200, call(filter, "GET", "/api/tasks", "10.0.0.1").getStatus());
+    }
+
+    private RateLimitFilter filter(RateLimitProperties.Rule rule) {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setRules(List.of(rule));
+        return new RateLimitFilter(properties, meterRegistry);
+    }
+
+    private static RateLimitProperties.Rule rule(String path, String method, int capacity, double refillPerSecond) {
+        RateLimitProperties.Rule rule = new RateLimitProperties.Rule();
+        rule.setPath(path);
+        rule.setMethod(method);
+        rule.setCapacity(capacity);
+        rule.setRefillPerSecond(refillPerSecond);
+        return rule;
+    }
+
+    private static void authenticate(String email) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(email, null, AuthorityUtils.createAuthorityList("ROLE_USER")));
+    }
+
+    private static MockHttpServletResponse call(RateLimitFilter filter, String method, String path, String address) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setRemoteAddr(address);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
@@ -1,7 +1,113 @@
 package com.taskmgmt.service;
 
+import com.taskmgmt.dto.AuthResponseDto;
+import com.taskmgmt.dto.LoginRequestDto;
+import com.taskmgmt.dto.RegisterRequestDto;
+import com.taskmgmt.entity.Role;
+import com.taskmgmt.repository.UserRepository;
+import com.taskmgmt.security.AuthenticatedUser;
+import com.taskmgmt.security.JwtKeyRing;
+import com.taskmgmt.security.JwtUtil;
+import com.taskmgmt.security.PasswordHashingExecutor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
 
 class AuthServiceTest {
 
-}
\ No newline at end of file
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final AuthenticationManager authenticationManager = mock(AuthenticationManager.class);
+    private final JwtUtil jwtUtil = new JwtUtil(new JwtKeyRing("TestOnlyVeryStrongSecretKey1234567890!", ""),
+            60_000L, 120_000L, new SimpleMeterRegistry());
+    private final PasswordHashingExecutor passwordHashing = new PasswordHashingExecutor(1, 1, new SimpleMeterRegistry());
+
+    private final RefreshTokenService refreshTokenService = mock(RefreshTokenService.class);
+
+    private final PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+
+    private final AuthService authService = new AuthService(userRepository, passwordEncoder,
+            authenticationManager, jwtUtil, passwordHashing, refreshTokenService);
+
+    @AfterEach
+    void shutdown() {
+        passwordHashing.shutdown();
+    }
+
+    @Test
+    void loginIssuesTokensFromTheAuthenticatedPrincipalWithoutAnotherLookup() throws Exception {
+        AuthenticatedUser alice = new AuthenticatedUser(7L, "alice@example.com", "hash", Role.USER);
+        when(authenticationManager.authenticate(any()))
+                .thenReturn(new UsernamePasswordAuthenticationToken(alice, null, alice.getAuthorities()));
+        when(refreshTokenService.issue(alice))
+                .thenReturn(new RefreshTokenService.IssuedRefreshToken("refresh", "session-1", alice));
+
+        AuthResponseDto response = authService.login(new LoginRequestDto("alice@example.com", "secret"))
+                .get(5, TimeUnit.SECONDS);
+
+        assertEquals("USER", response.getRole());
+        assertEquals("alice@example.com", jwtUtil.extractUsername(response.getAccessToken()));
+        assertEquals("refresh", response.getRefreshToken());
+        assertEquals("session-1", jwtUtil.parseVerifiedClaims(response.getAccessToken()).orElseThrow()
+                .get(JwtUtil.SESSION_ID_CLAIM, String.class));
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void loginIsRefusedWhileTheHashingPoolIsFull() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(authenticationManager.authenticate(any())).thenAnswer(inv -> {
+            running.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            throw new IllegalStateException("not reached in this test");
+        });
+
+        authService.login(new LoginRequestDto("a@example.com", "x")); // runs
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+        authService.login(new LoginRequestDto("b@example.com", "x")); // queued
+
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> authService.login(new LoginRequestDto("c@example.com", "x")));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, e.getStatusCode());
+        release.countDown();
+    }
+
+    @Test
+    void registeringATakenEmailIsRefusedBeforeHashing() {
+        when(userRepository.existsByEmail("alice@example.com")).thenReturn(true);
+
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> authService.register(new RegisterRequestDto("Alice", "alice@example.com", "secret", null)));
+
+        assertEquals(HttpStatus.CONFLICT, e.getStatusCode());
+        verifyNoInteractions(passwordEncoder);
+        verify(userRepository, never()).save(any());
+    }
+
+    @Test
+    void concurrentRegistrationOfTheSameEmailIsAConflict() {
+        // the other request inserts between our check and our insert
+        when(userRepository.save(any())).thenThrow(new DataIntegrityViolationException("uk_users_email"));
+
+        ExecutionException e = assertThrows(ExecutionException.class,
+                () -> authService.register(new RegisterRequestDto("Alice", "alice@example.com", "secret", null))
+                        .get(5, TimeUnit.SECONDS));
+
+        ResponseStatusException cause = assertInstanceOf(ResponseStatusException.class, e.getCause());
+        assertEquals(HttpStatus.CONFLICT, cause.getStatusCode());
+    }
+}
@@ -0,0 +1,154 @@
+package com.taskmgmt.service;
+
+import com.taskmgmt.dto.NotificationDto;
+import com.taskmgmt.dto.NotificationPageDto;
+import com.taskmgmt.entity.*;
+import com.taskmgmt.repository.NotificationRepository;
+import com.taskmgmt.repository.TaskRepository;
+import com.taskmgmt.repository.UserRepository;
+import net.ttddyy.dsproxy.QueryCountHolder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class NotificationServiceTest {
+
+    private static final int NOTIFICATIONS = 25;
+
+    @Autowired
+    private NotificationService notificationService;
+    @Autowired
+    private UnreadNotificationCounter unreadCounter;
+    @Autowired
+    private NotificationRepository notificationRepository;
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    private User dev;
+    private User qa;
+    private Task task;
+
+    @BeforeEach
+    void seed() {
+        User admin = userRepository.save(User.builder().name("Admin").email("admin@example.com").role(Role.ADMIN).build());
+        dev = userRepository.save(User.builder().name("Dev").email("dev@example.com").role(Role.USER).build());
+        qa = userRepository.save(User.builder().name("QA").email("qa@example.com").role(Role.USER).build());
+        task = taskRepository.save(Task.builder().title("Task").status(TaskStatus.TODO).createdBy(admin).build());
+
+        List<Notification> notifications = new ArrayList<>();
+        for (int i = 0; i < NOTIFICATIONS; i++) {
+            notifications.add(notification(dev, "Dev " + i));
+        }
+        notifications.add(notification(qa, "QA"));
+        notificationService.saveAll(notifications);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        notificationRepository.deleteAll();
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+        unreadCounter.reload();
+    }
+
+    @Test
+    void unreadCountIsServedWithoutQueries() {
+        QueryCountHolder.clear();
+
+        assertEquals(NOTIFICATIONS, notificationService.getUnreadCount(dev.getId()).getUnread());
+        assertEquals(1, notificationService.getUnreadCount(qa.getId()).getUnread());
+        assertEquals(0, QueryCountHolder.getGrandTotal().getTotal());
+    }
+
+    @Test
+    void countFollowsMarkReadAndMatchesDatabase() {
+        Long first = notificationRepository.findByUser(dev).get(0).getId();
+
+        notificationService.markRead(dev.getId(), first);
+        notificationService.markRead(dev.getId(), first); // already read: no double decrement
+        assertEquals(NOTIFICATIONS - 1, notificationService.getUnreadCount(dev.getId()).getUnread());
+        assertEquals(notificationRepository.countUnread(dev.getId()),
+                notificationService.getUnreadCount(dev.getId()).getUnread());
+
+        notificationService.markAllRead(dev.getId());
+        assertEquals(0, notificationService.getUnreadCount(dev.getId()).getUnread());
+        assertEquals(1, notificationService.getUnreadCount(qa.getId()).getUnread());
+
+        unreadCounter.reload();
+        assertEquals(0, notificationService.getUnreadCount(dev.getId()).getUnread());
+        assertEquals(1, notificationService.getUnreadCount(qa.getId()).getUnread());
+    }
+
+    @Test
+    void reloadPicksUpNotificationsWrittenElsewhere() {
+        // as another instance would: straight to the table, this counter never hears of it
+        notificationRepository.save(notification(qa, "From another node"));
+        notificationRepository.deleteAll(notificationRepository.findByUser(dev));
+        assertEquals(1, notificationService.getUnreadCount(qa.getId()).getUnread());
+
+        unreadCounter.reload();
+
+        assertEquals(2, notificationService.getUnreadCount(qa.getId()).getUnread());
+        assertEquals(0, notificationService.getUnreadCount(dev.getId()).getUnread());
+    }
+
+    @Test
+    void cannotMarkAnotherUsersNotification() {
+        Long qaNotification = notificationRepository.findByUser(qa).get(0).getId();
+
+        assertThrows(ResponseStatusException.class, () -> notificationService.markRead(dev.getId(), qaNotification));
+        assertEquals(1, notificationService.getUnreadCount(qa.getId()).getUnread());
+    }
+
+    @Test
+    void pagesThroughInboxNewestFirst() {
+        Set<Long> seen = new HashSet<>();
+        String cursor = null;
+        int pages = 0;
+        Long previous = Long.MAX_VALUE;
+        do {
+            NotificationPageDto page = notificationService.getNotifications(dev.getId(), cursor, 10, false);
+            for (NotificationDto dto : page.getNotifications()) {
+                assertTrue(dto.getId() < previous);
+                previous = dto.getId();
+                seen.add(dto.getId());
+            }
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(3, pages);
+        assertEquals(NOTIFICATIONS, seen.size());
+    }
+
+    @Test
+    void unreadOnlySkipsReadNotifications() {
+        Long first = notificationRepository.findByUser(dev).get(0).getId();
+        notificationService.markRead(dev.getId(), first);
+
+        NotificationPageDto page = notificationService.getNotifications(dev.getId(), null, 100, true);
+
+        assertEquals(NOTIFICATIONS - 1, page.getNotifications().size());
+        assertTrue(page.getNotifications().stream().noneMatch(NotificationDto::isRead));
+        assertEquals(NOTIFICATIONS - 1, page.getUnreadCount());
+        assertNull(page.getNextCursor());
+    }
+
+    private Notification notification(User user, String message) {
+        return Notification.builder().message(message).createdAt(LocalDateTime.now()).user(user).task(task).build();
+    }
+}
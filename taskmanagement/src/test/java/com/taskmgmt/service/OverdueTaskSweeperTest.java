@@ -0,0 +1,101 @@
+package com.taskmgmt.service;
+
+import com.taskmgmt.entity.*;
+import com.taskmgmt.repository.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "tasks.overdue.chunk-size=3")
+class OverdueTaskSweeperTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 10, 18);
+
+    @Autowired
+    private OverdueTaskSweeper sweeper;
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private TaskAssigneeRepository taskAssigneeRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private NotificationRepository notificationRepository;
+    @Autowired
+    private SweepCheckpointRepository checkpointRepository;
+    @Autowired
+    private UnreadNotificationCounter unreadCounter;
+
+    private final List<Long> overdueTaskIds = new ArrayList<>();
+
+    @BeforeEach
+    void seed() {
+        resetCheckpoint(null, 0, false);
+        User admin = userRepository.save(User.builder().name("Admin").email("admin@example.com").role(Role.ADMIN).build());
+        User dev = userRepository.save(User.builder().name("Dev").email("dev@example.com").role(Role.USER).build());
+        User qa = userRepository.save(User.builder().name("QA").email("qa@example.com").role(Role.USER).build());
+
+        // 7 overdue open tasks with two assignees each, plus tasks that must be skipped
+        for (int i = 0; i < 7; i++) {
+            Task task = saveTask(admin, TODAY.minusDays(1 + i), TaskStatus.TODO, dev, qa);
+            overdueTaskIds.add(task.getId());
+        }
+        saveTask(admin, TODAY.minusDays(3), TaskStatus.DONE, dev, qa);
+        saveTask(admin, TODAY, TaskStatus.IN_PROGRESS, dev, qa);
+        saveTask(admin, TODAY.plusDays(5), TaskStatus.TODO, dev, qa);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        notificationRepository.deleteAll();
+        taskAssigneeRepository.deleteAll();
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+        unreadCounter.reload();
+    }
+
+    @Test
+    void notifiesEveryAssigneeOfOverdueTasksOncePerDay() {
+        assertEquals(14, sweeper.sweep(TODAY));
+        assertEquals(14, notificationRepository.count());
+        assertEquals(7, unreadCounter.get(notificationRepository.findAll().get(0).getUser().getId()));
+
+        assertEquals(0, sweeper.sweep(TODAY));
+        assertEquals(14, notificationRepository.count());
+
+        // next day: the task due today has become overdue as well
+        assertEquals(16, sweeper.sweep(TODAY.plusDays(1)));
+    }
+
+    @Test
+    void resumesAfterLastCheckpointedTask() {
+        resetCheckpoint(TODAY, overdueTaskIds.get(3), false);
+
+        assertEquals(6, sweeper.sweep(TODAY));
+
+        SweepCheckpoint checkpoint = checkpointRepository.findById(OverdueTaskSweeper.CHECKPOINT).orElseThrow();
+        assertTrue(checkpoint.isCompleted());
+        assertEquals(overdueTaskIds.get(6), checkpoint.getLastTaskId());
+    }
+
+    private Task saveTask(User creator, LocalDate dueDate, TaskStatus status, User... assignees) {
+        Task task = taskRepository.save(Task.builder()
+                .title("Task due " + dueDate).status(status).dueDate(dueDate).createdBy(creator).build());
+        for (User user : assignees) {
+            taskAssigneeRepository.save(TaskAssignee.builder().task(task).user(user).build());
+        }
+        return task;
+    }
+
+    private void resetCheckpoint(LocalDate date, long lastTaskId, boolean completed) {
+        checkpointRepository.save(new SweepCheckpoint(OverdueTaskSweeper.CHECKPOINT, date, lastTaskId, completed));
+    }
+}
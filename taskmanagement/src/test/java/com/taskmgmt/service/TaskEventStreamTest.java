@@ -0,0 +1,142 @@
+package com.taskmgmt.service;
+
+import com.taskmgmt.dto.TaskResponseDto;
+import com.taskmgmt.event.SessionRevokedEvent;
+import com.taskmgmt.event.TaskChangeEvent;
+import com.taskmgmt.event.TaskChangeType;
+import com.taskmgmt.repository.AssignmentView;
+import com.taskmgmt.repository.TaskAssigneeRepository;
+import com.taskmgmt.repository.TaskRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// Delivery without a servlet container: emitters record or block on send instead of writing a response
+class TaskEventStreamTest {
+
+    private static final int QUEUE_CAPACITY = 2;
+
+    private final TaskRepository taskRepository = mock(TaskRepository.class);
+    private final TaskAssigneeRepository taskAssigneeRepository = mock(TaskAssigneeRepository.class);
+    private final Deque<TestEmitter> nextEmitters = new ArrayDeque<>();
+    private TaskEventStream stream;
+
+    @BeforeEach
+    void setUp() {
+        stream = new TaskEventStream(taskRepository, taskAssigneeRepository, 60_000, 5, 100,
+                QUEUE_CAPACITY, 2, new MockEnvironment()) {
+            @Override
+            SseEmitter newEmitter(long timeout) {
+                TestEmitter emitter = nextEmitters.poll();
+                return emitter != null ? emitter : new TestEmitter(timeout);
+            }
+        };
+        // task 10 is owned by user 1 and assigned to user 2
+        when(taskAssigneeRepository.findAssignments(any())).thenReturn(List.of(new AssignmentView(10L, 2L)));
+        when(taskRepository.findDtosByIds(any())).thenReturn(
+                List.of(new TaskResponseDto(10L, "Ship it", null, "DONE", null, 1L, "Owner", 1L)));
+    }
+
+    @AfterEach
+    void shutdown() {
+        stream.shutdown();
+    }
+
+    @Test
+    void stalledClientIsClosedWithoutHoldingUpOthers() throws Exception {
+        TestEmitter stalled = new TestEmitter(60_000);
+        stalled.stallAfter(1); // takes the "connected" comment, then stops reading
+        TestEmitter fast = new TestEmitter(60_000);
+        nextEmitters.add(stalled);
+        nextEmitters.add(fast);
+        stream.subscribe(1L, "owner-session", null);
+        stream.subscribe(2L, "assignee-session", null);
+
+        // each change reaches the fast client while the stalled one sits on its first
+        int events = QUEUE_CAPACITY + 5;
+        for (int i = 1; i <= events; i++) {
+            stream.onTaskChange(TaskChangeEvent.of(TaskChangeType.STATUS_CHANGED, 10L));
+            assertTrue(fast.awaitSends(1 + i), "fast client got " + fast.sends.get() + " sends");
+        }
+        assertEquals(1, stream.subscriberCount());
+        assertEquals(1, stalled.completed.getCount(), "completed while its send is still blocked");
+
+        stalled.release.countDown();
+        assertTrue(stalled.completed.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void revokedSessionEndsItsStreamsOnly() {
+        TestEmitter revoked = new TestEmitter(60_000);
+        nextEmitters.add(revoked);
+        stream.subscribe(1L, "session-1", null);
+        stream.subscribe(1L, "session-2", null);
+
+        stream.onSessionRevoked(new SessionRevokedEvent("session-1"));
+
+        assertEquals(1, stream.subscriberCount());
+        assertEquals(0, revoked.completed.getCount());
+    }
+
+    @Test
+    void streamTimesOutWhenTheTokenExpires() {
+        SseEmitter emitter = stream.subscribe(1L, "session-1", Instant.now().plusSeconds(30));
+
+        assertTrue(emitter.getTimeout() <= 30_000, "timeout " + emitter.getTimeout());
+    }
+
+    private static final class TestEmitter extends SseEmitter {
+
+        private final AtomicInteger sends = new AtomicInteger();
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final CountDownLatch completed = new CountDownLatch(1);
+        private volatile int stallAfter = Integer.MAX_VALUE;
+
+        TestEmitter(long timeout) {
+            super(timeout);
+        }
+
+        void stallAfter(int sends) {
+            stallAfter = sends;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            if (sends.incrementAndGet() > stallAfter) {
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        @Override
+        public synchronized void complete() {
+            completed.countDown();
+        }
+
+        boolean awaitSends(int expected) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (sends.get() < expected && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            return sends.get() >= expected;
+        }
+    }
+}
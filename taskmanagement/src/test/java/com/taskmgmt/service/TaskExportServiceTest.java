@@ -0,0 +1,158 @@
+package com.taskmgmt.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmgmt.dto.TaskExportRequest;
+import com.taskmgmt.entity.*;
+import com.taskmgmt.repository.TaskAssigneeRepository;
+import com.taskmgmt.repository.TaskRepository;
+import com.taskmgmt.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class TaskExportServiceTest {
+
+    @Autowired
+    private TaskExportService taskExportService;
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private TaskAssigneeRepository taskAssigneeRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private User admin;
+    private User dev;
+    private User qa;
+    private Task login;
+
+    @BeforeEach
+    void seed() {
+        admin = userRepository.save(User.builder().name("Admin").email("admin@example.com").role(Role.ADMIN).build());
+        dev = userRepository.save(User.builder().name("Dev").email("dev@example.com").role(Role.USER).build());
+        qa = userRepository.save(User.builder().name("QA").email("qa@example.com").role(Role.USER).build());
+
+        login = saveTask(admin, "Fix login", "Times out, \"sometimes\"\nafter a minute", TaskStatus.IN_PROGRESS,
+                LocalDate.of(2030, 1, 10), dev, qa);
+        saveTask(admin, "Write docs", null, TaskStatus.TODO, null);
+        saveTask(dev, "Release, finally", "Ship it", TaskStatus.DONE, LocalDate.of(2030, 2, 1), qa);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        taskAssigneeRepository.deleteAll();
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void ndjsonHasOneLinePerTaskWithItsAssignees() throws IOException {
+        List<JsonNode> rows = ndjson(new TaskExportRequest());
+
+        assertEquals(3, rows.size());
+        JsonNode first = rows.get(0);
+        assertEquals(login.getId(), first.get("id").asLong());
+        assertEquals("Fix login", first.get("title").asText());
+        assertEquals("Times out, \"sometimes\"\nafter a minute", first.get("description").asText());
+        assertEquals("IN_PROGRESS", first.get("status").asText());
+        assertEquals("2030-01-10", first.get("dueDate").asText());
+        // the column keeps microseconds
+        assertTrue(Duration.between(login.getCreatedAt(), Instant.parse(first.get("createdAt").asText())).abs().toNanos() < 1000);
+        assertEquals(admin.getId(), first.get("createdById").asLong());
+        assertEquals("Admin", first.get("createdByName").asText());
+        assertEquals(0, first.get("version").asLong());
+        assertEquals(List.of(dev.getId(), qa.getId()), ids(first.get("assigneeIds")));
+
+        assertTrue(rows.get(1).get("dueDate").isNull());
+        assertTrue(rows.get(1).get("assigneeIds").isEmpty());
+    }
+
+    @Test
+    void csvQuotesOnlyWhatNeedsQuoting() throws IOException {
+        String csv = export(new TaskExportRequest(), TaskExportFormat.CSV);
+        String[] lines = csv.split("\r\n");
+
+        assertEquals("id,title,description,status,dueDate,createdAt,createdById,createdByName,version,assigneeIds", lines[0]);
+        assertTrue(csv.contains(",Fix login,\"Times out, \"\"sometimes\"\"\nafter a minute\",IN_PROGRESS,2030-01-10,"));
+        assertTrue(csv.contains(",Admin,0," + dev.getId() + ";" + qa.getId() + "\r\n"));
+        assertTrue(csv.contains(",Write docs,,TODO,,"));
+        assertTrue(csv.contains(",\"Release, finally\",Ship it,DONE,"));
+        assertEquals(4, lines.length); // header + 3 tasks: the quoted newline is not a record separator
+    }
+
+    @Test
+    void filtersCombine() throws IOException {
+        TaskExportRequest byCreator = new TaskExportRequest();
+        byCreator.setCreatedBy(admin.getId());
+        TaskExportRequest dueInJanuary = new TaskExportRequest();
+        dueInJanuary.setDueFrom(LocalDate.of(2030, 1, 1));
+        dueInJanuary.setDueTo(LocalDate.of(2030, 1, 31));
+        TaskExportRequest doneByAdmin = new TaskExportRequest();
+        doneByAdmin.setStatus(TaskStatus.DONE);
+        doneByAdmin.setCreatedBy(admin.getId());
+
+        assertEquals(List.of("Fix login", "Write docs"), titles(ndjson(byCreator)));
+        assertEquals(List.of("Fix login"), titles(ndjson(dueInJanuary)));
+        assertTrue(ndjson(doneByAdmin).isEmpty());
+    }
+
+    @Test
+    void rejectsUnknownFormat() {
+        assertEquals(TaskExportFormat.CSV, TaskExportFormat.of("CSV"));
+        assertThrows(ResponseStatusException.class, () -> TaskExportFormat.of("xml"));
+    }
+
+    private Task saveTask(User creator, String title, String description, TaskStatus status, LocalDate dueDate,
+                          User... assignees) {
+        Task task = taskRepository.save(Task.builder().title(title).description(description)
+                .status(status).dueDate(dueDate).createdBy(creator).build());
+        for (User assignee : assignees) {
+            taskAssigneeRepository.save(TaskAssignee.builder().task(task).user(assignee).build());
+        }
+        return task;
+    }
+
+    private String export(TaskExportRequest request, TaskExportFormat format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        taskExportService.export(request, format, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private List<JsonNode> ndjson(TaskExportRequest request) throws IOException {
+        List<JsonNode> rows = new ArrayList<>();
+        for (String line : export(request, TaskExportFormat.NDJSON).split("\n")) {
+            if (!line.isEmpty()) {
+                rows.add(objectMapper.readTree(line));
+            }
+        }
+        return rows;
+    }
+
+    private static List<String> titles(List<JsonNode> rows) {
+        return rows.stream().map(row -> row.get("title").asText()).toList();
+    }
+
+    private static List<Long> ids(JsonNode array) {
+        List<Long> ids = new ArrayList<>();
+        array.forEach(id -> ids.add(id.asLong()));
+        return ids;
+    }
+}
@@ -0,0 +1,213 @@
+package com.taskmgmt.service;
+
+import com.taskmgmt.dto.TaskExportRequest;
+import com.taskmgmt.dto.TaskImportErrorDto;
+import com.taskmgmt.dto.TaskImportResultDto;
+import com.taskmgmt.entity.*;
+import com.taskmgmt.repository.TaskAssigneeRepository;
+import com.taskmgmt.repository.TaskRepository;
+import com.taskmgmt.repository.UserRepository;
+import com.taskmgmt.security.AuthenticatedUser;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Bulk import: per-row errors, CSV and export round trips, and a large batched import. The last
+ * imports -Dimport.rows=N generated tasks (default 20,000) and logs rows per second at debug;
+ * throughput itself is measured by TaskImportBenchmark in the jmh profile.
+ */
+@Slf4j
+@SpringBootTest
+class TaskImportServiceTest {
+
+    private static final int ROWS = Integer.getInteger("import.rows", 20_000);
+
+    @Autowired
+    private TaskImportService taskImportService;
+    @Autowired
+    private TaskExportService taskExportService;
+    @Autowired
+    private TaskStatsCounter taskStatsCounter;
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private TaskAssigneeRepository taskAssigneeRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    private AuthenticatedUser admin;
+    private User dev;
+    private User qa;
+
+    @BeforeEach
+    void seed() {
+        User adminUser = userRepository.save(User.builder().name("Admin").email("admin@example.com").role(Role.ADMIN).build());
+        dev = userRepository.save(User.builder().name("Dev").email("dev@example.com").role(Role.USER).build());
+        qa = userRepository.save(User.builder().name("QA").email("qa@example.com").role(Role.USER).build());
+        admin = AuthenticatedUser.fromEntity(adminUser);
+        taskStatsCounter.reconcile();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        taskAssigneeRepository.deleteAllInBatch();
+        taskRepository.deleteAllInBatch();
+        userRepository.deleteAll();
+        taskStatsCounter.reconcile();
+    }
+
+    @Test
+    void importsValidRowsAndReportsTheRest() throws IOException {
+        String json = "[" +
+                "{\"title\": \"Set up laptop\", \"userId\": " + dev.getId() + ", \"dueDate\": \"2030-01-15\"}," +
+                "{\"title\": \"  \", \"userId\": " + dev.getId() + "}," +
+                "{\"title\": \"Pair with QA\", \"status\": \"in_progress\", \"assigneeIds\": [" + dev.getId() + ", " + qa.getId() + "]}," +
+                "{\"title\": \"Unknown user\", \"userId\": 999999}," +
+                "{\"title\": \"Bad date\", \"dueDate\": \"15/01/2030\"}," +
+                "{\"title\": \"Bad status\", \"status\": \"SOMEDAY\"}" +
+                "]";
+
+        TaskImportResultDto result = importBody(MediaType.APPLICATION_JSON, json);
+
+        assertEquals(6, result.getRows());
+        assertEquals(2, result.getImported());
+        assertEquals(4, result.getFailed());
+        assertEquals(List.of(2L, 4L, 5L, 6L), result.getErrors().stream().map(TaskImportErrorDto::getRow).toList());
+        assertEquals("user 999999 not found", result.getErrors().get(1).getMessage());
+
+        Task laptop = taskRepository.findByStatus(TaskStatus.TODO).get(0);
+        assertEquals("Set up laptop", laptop.getTitle());
+        assertEquals(LocalDate.of(2030, 1, 15), laptop.getDueDate());
+        assertEquals(admin.getId(), laptop.getCreatedBy().getId());
+        assertEquals(2, taskAssigneeRepository.findByUser(dev).size());
+        assertEquals(1, taskAssigneeRepository.findByUser(qa).size());
+
+        // counted as created once committed, like tasks created one by one
+        assertEquals(2, taskStatsCounter.stats().getTotal());
+        assertEquals(2, taskStatsCounter.stats().getByAssignee().get(dev.getId()));
+    }
+
+    @Test
+    void importsCsvWithQuotedFields() throws IOException {
+        String csv = "title,description,status,assigneeIds\r\n" +
+                "\"Review, then merge\",\"Says \"\"LGTM\"\"\nthen merges\",DONE," + dev.getId() + ";" + qa.getId() + "\r\n" +
+                "\r\n" +
+                "Plain,,,\r\n";
+
+        TaskImportResultDto result = importBody(MediaType.parseMediaType("text/csv"), csv);
+
+        assertEquals(2, result.getImported());
+        assertTrue(result.getErrors().isEmpty());
+        Task review = taskRepository.findByStatus(TaskStatus.DONE).get(0);
+        assertEquals("Review, then merge", review.getTitle());
+        assertEquals("Says \"LGTM\"\nthen merges", review.getDescription());
+        assertEquals(2, taskAssigneeRepository.findByTaskId(review.getId()).size());
+    }
+
+    @Test
+    void exportedNdjsonImportsAsCopies() throws IOException {
+        importBody(MediaType.APPLICATION_JSON, "[{\"title\": \"Original\", \"description\": \"Text\", \"assigneeIds\": [" + qa.getId() + "]}]");
+        ByteArrayOutputStream exported = new ByteArrayOutputStream();
+        taskExportService.export(new TaskExportRequest(), TaskExportFormat.NDJSON, exported);
+
+        TaskImportResultDto result = importBody(MediaType.parseMediaType("application/x-ndjson"),
+                exported.toString(StandardCharsets.UTF_8));
+
+        assertEquals(1, result.getImported());
+        assertEquals(2, taskRepository.count());
+        assertEquals(2, taskAssigneeRepository.findByUser(qa).size());
+    }
+
+    @Test
+    void malformedInputStopsAfterTheRowsBeforeIt() throws IOException {
+        TaskImportResultDto result = importBody(MediaType.APPLICATION_JSON,
+                "[{\"title\": \"Kept\"}, {\"title\": \"Broken\", ]");
+
+        assertEquals(1, result.getImported());
+        assertEquals(1, result.getFailed());
+        assertEquals(2, result.getErrors().get(0).getRow());
+        assertTrue(result.getErrors().get(0).getMessage().startsWith("Malformed input"));
+        assertEquals(1, taskRepository.count());
+    }
+
+    @Test
+    void importedTasksTakeIdsInInsertionOrder() throws IOException {
+        // The listing pages newest first by id, so imported rows must sit between the tasks around them
+        User creator = userRepository.findById(admin.getId()).orElseThrow();
+        taskRepository.save(Task.builder().title("Before").status(TaskStatus.TODO).createdBy(creator).build());
+        importBody(MediaType.APPLICATION_JSON, "[{\"title\": \"First\"}, {\"title\": \"Second\"}, {\"title\": \"Third\"}]");
+        taskRepository.save(Task.builder().title("After").status(TaskStatus.TODO).createdBy(creator).build());
+
+        List<String> byId = taskRepository.findAll().stream()
+                .sorted(Comparator.comparing(Task::getId)).map(Task::getTitle).toList();
+
+        assertEquals(List.of("Before", "First", "Second", "Third", "After"), byId);
+    }
+
+    @Test
+    void importsManyRowsInBatches() throws IOException {
+        InputStream body = new GeneratedCsv(ROWS, dev.getId(), qa.getId());
+
+        long start = System.nanoTime();
+        TaskImportResultDto result = taskImportService.importTasks(MediaType.parseMediaType("text/csv"), body, admin);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        assertEquals(ROWS, result.getImported());
+        assertEquals(0, result.getFailed());
+        assertEquals(ROWS, taskRepository.count());
+        assertEquals(ROWS, taskAssigneeRepository.count());
+        log.debug("Imported {} tasks in {} ms ({} rows/s)",
+                ROWS, Math.round(seconds * 1000), Math.round(ROWS / seconds));
+    }
+
+    private TaskImportResultDto importBody(MediaType contentType, String body) throws IOException {
+        return taskImportService.importTasks(contentType,
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), admin);
+    }
+
+    // CSV rows produced as they are read, so the test body is never held in memory either
+    private static final class GeneratedCsv extends InputStream {
+        private final int rows;
+        private final long[] assignees;
+        private int row = -1;
+        private byte[] line = new byte[0];
+        private int position;
+
+        GeneratedCsv(int rows, long... assignees) {
+            this.rows = rows;
+            this.assignees = assignees;
+        }
+
+        @Override
+        public int read() {
+            if (position == line.length) {
+                if (++row > rows) {
+                    return -1;
+                }
+                String text = row == 0
+                        ? "title,description,status,dueDate,userId\n"
+                        : "Onboarding task " + row + ",Step " + row + " of the checklist,TODO,2030-06-01,"
+                        + assignees[row % assignees.length] + "\n";
+                line = text.getBytes(StandardCharsets.UTF_8);
+                position = 0;
+            }
+            return line[position++];
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.taskmgmt.service;
+
+import com.taskmgmt.dto.TaskRequestDto;
+import com.taskmgmt.dto.TaskResponseDto;
+import com.taskmgmt.dto.TaskSearchPageDto;
+import com.taskmgmt.entity.*;
+import com.taskmgmt.repository.TaskAssigneeRepository;
+import com.taskmgmt.repository.TaskRepository;
+import com.taskmgmt.repository.UserRepository;
+import com.taskmgmt.security.AuthenticatedUser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest(properties = {"tasks.search.rebuild-threads=3", "tasks.search.rebuild-chunk-size=2"})
+class TaskSearchIndexTest {
+
+    @Autowired
+    private TaskSearchIndex searchIndex;
+    @Autowired
+    private TaskService taskService;
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private TaskAssigneeRepository taskAssigneeRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private AuthenticatedUser admin;
+    private AuthenticatedUser dev;
+    private User devUser;
+    private User qaUser;
+
+    @BeforeEach
+    void seed() throws Exception {
+        User adminUser = userRepository.save(User.builder().name("Admin").email("admin@example.com").role(Role.ADMIN).build());
+        devUser = userRepository.save(User.builder().name("Dev").email("dev@example.com").role(Role.USER).build());
+        qaUser = userRepository.save(User.builder().name("QA").email("qa@example.com").role(Role.USER).build());
+        admin = AuthenticatedUser.fromEntity(adminUser);
+        dev = AuthenticatedUser.fromEntity(devUser);
+
+        // Saved straight through the repositories: no events, so only a rebuild indexes them
+        saveTask(adminUser, "Fix login timeout", "Users are logged out after a minute", devUser);
+        saveTask(adminUser, "Update docs", "Document the login flow", devUser);
+        saveTask(adminUser, "Login page redesign", "New colours", qaUser);
+        for (int i = 0; i < 7; i++) {
+            saveTask(adminUser, "Report " + i, "Quarterly report number " + i, devUser);
+        }
+        searchIndex.rebuildInBackground().get();
+    }
+
+    @AfterEach
+    void cleanUp() throws Exception {
+        taskAssigneeRepository.deleteAll();
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+        searchIndex.rebuildInBackground().get();
+    }
+
+    @Test
+    void rebuildIndexesEveryTask() {
+        assertEquals(10, searchIndex.documentCount());
+    }
+
+    @Test
+    void usersOnlyFindTasksAssignedToThem() {
+        assertEquals(List.of("Fix login timeout", "Login page redesign", "Update docs"),
+                titles(searchIndex.search("login", admin, null, null)).stream().sorted().toList());
+        assertEquals(List.of("Fix login timeout", "Update docs"),
+                titles(searchIndex.search("login", dev, null, null)).stream().sorted().toList());
+    }
+
+    @Test
+    void titleMatchesRankAboveDescriptionMatches() {
+        List<String> titles = titles(searchIndex.search("login", dev, null, null));
+
+        assertEquals(List.of("Fix login timeout", "Update docs"), titles);
+    }
+
+    @Test
+    void everyTermMustMatch() {
+        assertEquals(List.of("Fix login timeout"), titles(searchIndex.search("login MINUTE", dev, null, null)));
+        assertTrue(searchIndex.search("login spreadsheet", admin, null, null).getTasks().isEmpty());
+    }
+
+    @Test
+    void pagesThroughResults() {
+        TaskSearchPageDto first = searchIndex.search("report", admin, 0, 3);
+        TaskSearchPageDto last = searchIndex.search("report", admin, 2, 3);
+
+        assertEquals(3, first.getTasks().size());
+        assertTrue(first.isHasMore());
+        assertEquals(1, last.getTasks().size());
+        assertFalse(last.isHasMore());
+    }
+
+    @Test
+    void rejectsEmptyQueryAndDeepPages() {
+        assertThrows(ResponseStatusException.class, () -> searchIndex.search(" ", admin, null, null));
+        assertThrows(ResponseStatusException.class, () -> searchIndex.search("report", admin, 1000, 100));
+    }
+
+    @Test
+    void searchIsUnavailableUntilTheFirstRebuildFinishes() throws Exception {
+        TaskSearchIndex starting = new TaskSearchIndex(taskRepository, taskAssigneeRepository, "", 1, 10, 10,
+                Duration.ofSeconds(1), Duration.ofMillis(10), Duration.ofMillis(10), Duration.ofMinutes(1));
+        try {
+            ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                    () -> starting.search("login", admin, null, null));
+            assertEquals(HttpStatus.SERVICE_UNAVAILABLE, e.getStatusCode());
+
+            starting.rebuildInBackground().get();
+
+            assertEquals(3, starting.search("login", admin, null, null).getTasks().size());
+        } finally {
+            starting.close();
+        }
+    }
+
+    @Test
+    void failedRebuildIsRetried() throws Exception {
+        TaskRepository failingOnce = mock(TaskRepository.class);
+        when(failingOnce.findMaxId()).thenThrow(new IllegalStateException("Database unavailable")).thenReturn(0L);
+        TaskSearchIndex starting = new TaskSearchIndex(failingOnce, taskAssigneeRepository, "", 1, 10, 10,
+                Duration.ofSeconds(1), Duration.ofMillis(10), Duration.ofMillis(10), Duration.ofMinutes(1));
+        try {
+            starting.rebuildInBackground().get(10, TimeUnit.SECONDS);
+
+            verify(failingOnce, times(2)).findMaxId();
+            assertTrue(starting.search("login", admin, null, null).getTasks().isEmpty());
+        } finally {
+            starting.close();
+        }
+    }
+
+    @Test
+    void catchUpIndexesWritesThatPublishedNoEvent() throws Exception {
+        // As another instance would write them: straight to the database, no event here
+        User adminUser = userRepository.findById(admin.getId()).orElseThrow();
+        saveTask(adminUser, "Rotate certificates", "Before the expiry", qaUser);
+        Task existing = taskRepository.findAll().stream()
+                .filter(task -> task.getTitle().equals("Login page redesign")).findFirst().orElseThrow();
+        taskAssigneeRepository.save(TaskAssignee.builder().task(existing).user(devUser).build());
+        assertTrue(searchIndex.search("certificates", admin, null, null).getTasks().isEmpty());
+
+        searchIndex.catchUp();
+        searchIndex.awaitIndexing();
+
+        assertEquals(List.of("Rotate certificates"), titles(searchIndex.search("certificates", admin, null, null)));
+        assertEquals(List.of("Login page redesign"), titles(searchIndex.search("redesign", dev, null, null)));
+        assertEquals(11, searchIndex.documentCount());
+    }
+
+    @Test
+    void newTasksAndAssigneesAreSearchableAfterCommit() throws Exception {
+        // In a transaction, as under a request; the index is updated once it commits
+        TaskResponseDto created = transactionTemplate.execute(status -> taskService.createTaskByAdmin(
+                new TaskRequestDto("Migrate billing", "Move invoices to the new ledger", null, TaskStatus.TODO, qaUser.getId(), null),
+                admin));
+        searchIndex.awaitIndexing();
+
+        assertEquals(List.of("Migrate billing"), titles(searchIndex.search("invoices", admin, null, null)));
+        assertTrue(searchIndex.search("invoices", dev, null, null).getTasks().isEmpty());
+
+        taskService.assignUsersToTask(created.getId(), List.of(devUser.getId()), admin);
+        searchIndex.awaitIndexing();
+
+        assertEquals(List.of("Migrate billing"), titles(searchIndex.search("invoices", dev, null, null)));
+    }
+
+    private void saveTask(User creator, String title, String description, User assignee) {
+        Task task = taskRepository.save(Task.builder()
+                .title(title).description(description).status(TaskStatus.TODO).createdBy(creator).build());
+        taskAssigneeRepository.save(TaskAssignee.builder().task(task).user(assignee).build());
+    }
+
+    private static List<String> titles(TaskSearchPageDto page) {
+        return page.getTasks().stream().map(TaskResponseDto::getTitle).toList();
+    }
+}
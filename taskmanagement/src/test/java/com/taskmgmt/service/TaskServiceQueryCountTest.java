@@ -0,0 +1,119 @@
+package com.taskmgmt.service;
+
+import com.taskmgmt.dto.AssigneeDto;
+import com.taskmgmt.dto.BulkStatusUpdateResponse;
+import com.taskmgmt.dto.TaskListRequest;
+import com.taskmgmt.dto.TaskPageDto;
+import com.taskmgmt.entity.*;
+import com.taskmgmt.repository.TaskAssigneeRepository;
+import com.taskmgmt.repository.TaskRepository;
+import com.taskmgmt.repository.UserRepository;
+import com.taskmgmt.security.AuthenticatedUser;
+import net.ttddyy.dsproxy.QueryCountHolder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Listing a page must cost one SELECT no matter how many tasks, creators and assignees it spans
+@SpringBootTest
+class TaskServiceQueryCountTest {
+
+    private static final int TASKS = 40;
+
+    @Autowired
+    private TaskService taskService;
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private TaskAssigneeRepository taskAssigneeRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    private User dev;
+    private List<User> creators;
+    private final List<Long> taskIds = new ArrayList<>();
+
+    @BeforeEach
+    void seed() {
+        creators = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            creators.add(userRepository.save(User.builder()
+                    .name("Creator " + i).email("creator" + i + "@example.com").role(Role.ADMIN).build()));
+        }
+        dev = userRepository.save(User.builder().name("Dev").email("dev@example.com").role(Role.USER).build());
+
+        for (int i = 0; i < TASKS; i++) {
+            Task task = taskRepository.save(Task.builder()
+                    .title("Task " + i).status(TaskStatus.TODO).createdBy(creators.get(i % creators.size())).build());
+            taskAssigneeRepository.save(TaskAssignee.builder().task(task).user(dev).build());
+            taskIds.add(task.getId());
+        }
+        QueryCountHolder.clear();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        taskAssigneeRepository.deleteAll();
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void adminListingIsASingleSelect() {
+        TaskPageDto page = taskService.getAllTasks(new TaskListRequest(null, null, null, null, 100));
+
+        assertEquals(TASKS, page.getTasks().size());
+        assertEquals(1, QueryCountHolder.getGrandTotal().getSelect());
+    }
+
+    @Test
+    void userListingIsASingleSelect() {
+        TaskPageDto page = taskService.getTasksForUser(dev.getId(), new TaskListRequest(null, null, null, null, 100));
+
+        assertEquals(TASKS, page.getTasks().size());
+        assertEquals(1, QueryCountHolder.getGrandTotal().getSelect());
+    }
+
+    @Test
+    void bulkStatusUpdateIsOneSelectAndOneUpdate() {
+        AuthenticatedUser assignee = new AuthenticatedUser(dev.getId(), dev.getEmail(), null, Role.USER);
+
+        BulkStatusUpdateResponse response = taskService.bulkUpdateStatus(taskIds, TaskStatus.DONE, assignee);
+
+        assertEquals(TASKS, response.getUpdated());
+        // plus the listing watermarks (TaskListingWatermarks): the assignees, then one update of their
+        // counters and one of the admin's; dev's counter is created on this first change (select + insert)
+        assertEquals(1 + 2, QueryCountHolder.getGrandTotal().getSelect());
+        assertEquals(1 + 2, QueryCountHolder.getGrandTotal().getUpdate());
+        assertEquals(1, QueryCountHolder.getGrandTotal().getInsert());
+    }
+
+    @Test
+    void assigningManyUsersIsConstantSelectsAndOneBatchedInsert() {
+        List<Long> collaboratorIds = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            collaboratorIds.add(userRepository.save(User.builder()
+                    .name("Collab " + i).email("collab" + i + "@example.com").role(Role.USER).build()).getId());
+        }
+        collaboratorIds.add(dev.getId()); // already assigned, must not be inserted again
+        User owner = creators.get(0);
+        AuthenticatedUser ownerPrincipal = new AuthenticatedUser(owner.getId(), owner.getEmail(), null, Role.ADMIN);
+        QueryCountHolder.clear();
+
+        List<AssigneeDto> assigned = taskService.assignUsersToTask(taskIds.get(0), collaboratorIds, ownerPrincipal);
+
+        assertEquals(31, assigned.size());
+        // one batch of assignments, one of the new assignees' listing watermarks (TaskListingWatermarks)
+        assertEquals(2, QueryCountHolder.getGrandTotal().getInsert());
+        assertTrue(QueryCountHolder.getGrandTotal().getSelect() <= 6,
+                "selects: " + QueryCountHolder.getGrandTotal().getSelect());
+        assertEquals(TASKS + 30, taskAssigneeRepository.count());
+    }
+}
@@ -1,7 +1,123 @@
 package com.taskmgmt.service;
 
+import com.taskmgmt.dto.AssigneeDto;
+import com.taskmgmt.dto.TaskResponseDto;
+import com.taskmgmt.entity.Role;
+import com.taskmgmt.entity.Task;
+import com.taskmgmt.entity.TaskStatus;
+import com.taskmgmt.entity.User;
+import com.taskmgmt.repository.TaskAssigneeRepository;
+import com.taskmgmt.repository.TaskRepository;
+import com.taskmgmt.repository.UserRepository;
+import com.taskmgmt.security.AuthenticatedUser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
 
+@ExtendWith(MockitoExtension.class)
 class TaskServiceTest {
 
-}
\ No newline at end of file
+    @Mock
+    private TaskRepository taskRepository;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private TaskAssigneeRepository taskAssigneeRepository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private TaskStatsCounter taskStats;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private TaskService taskService;
+
+    private User owner;
+    private Task task;
+
+    @BeforeEach
+    void setUp() {
+        owner = User.builder().id(1L).name("Owner").email("owner@example.com").role(Role.USER).build();
+        task = Task.builder().id(10L).title("Write report").status(TaskStatus.TODO).createdBy(owner).build();
+    }
+
+    @Test
+    void assigneeCanUpdateStatusWithoutUserLookup() {
+        AuthenticatedUser assignee = new AuthenticatedUser(2L, "dev@example.com", null, Role.USER);
+        when(taskRepository.findWithCreatorById(10L)).thenReturn(Optional.of(task));
+        when(taskAssigneeRepository.existsByTaskIdAndUserId(10L, 2L)).thenReturn(true);
+        when(taskRepository.saveAndFlush(any(Task.class))).thenAnswer(inv -> inv.getArgument(0));
+        inTransaction();
+
+        TaskResponseDto response = taskService.updateTaskStatus(10L, TaskStatus.DONE, assignee);
+
+        assertEquals("DONE", response.getStatus());
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void strangerCannotUpdateStatus() {
+        AuthenticatedUser stranger = new AuthenticatedUser(3L, "other@example.com", null, Role.USER);
+        when(taskRepository.findWithCreatorById(10L)).thenReturn(Optional.of(task));
+
+        inTransaction();
+
+        assertThrows(RuntimeException.class, () -> taskService.updateTaskStatus(10L, TaskStatus.DONE, stranger));
+        verify(taskRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void ownerCanAssignUsers() {
+        AuthenticatedUser ownerPrincipal = new AuthenticatedUser(1L, "owner@example.com", null, Role.USER);
+        User collaborator = User.builder().id(5L).name("Collab").email("collab@example.com").role(Role.USER).build();
+        when(taskRepository.findById(10L)).thenReturn(Optional.of(task));
+        when(userRepository.findAllById(any())).thenReturn(List.of(collaborator));
+        inTransaction();
+
+        List<AssigneeDto> assigned = taskService.assignUsersToTask(10L, List.of(5L), ownerPrincipal);
+
+        assertEquals(1, assigned.size());
+        assertEquals("collab@example.com", assigned.get(0).getEmail());
+    }
+
+    @Test
+    void concurrentlyAddedAssigneeCountsAsAlreadyAssigned() {
+        AuthenticatedUser ownerPrincipal = new AuthenticatedUser(1L, "owner@example.com", null, Role.USER);
+        User collaborator = User.builder().id(5L).name("Collab").email("collab@example.com").role(Role.USER).build();
+        when(taskRepository.findById(10L)).thenReturn(Optional.of(task));
+        when(userRepository.findAllById(any())).thenReturn(List.of(collaborator));
+        // the other request commits between our check and our insert
+        when(taskAssigneeRepository.findAssignedUserIds(eq(10L), any())).thenReturn(List.of(), List.of(5L));
+        when(taskAssigneeRepository.saveAllAndFlush(any()))
+                .thenThrow(new DataIntegrityViolationException("uk_task_assignees_task_user"))
+                .thenAnswer(inv -> inv.getArgument(0));
+        inTransaction();
+
+        List<AssigneeDto> assigned = taskService.assignUsersToTask(10L, List.of(5L), ownerPrincipal);
+
+        assertEquals(List.of(5L), assigned.stream().map(AssigneeDto::getId).toList());
+        verify(taskAssigneeRepository).saveAllAndFlush(List.of());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    // The template just runs the callback; transactions themselves are covered by the @SpringBootTest tests
+    private void inTransaction() {
+        when(transactionTemplate.execute(any())).thenAnswer(inv -> inv.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+}
@@ -0,0 +1,137 @@
+package com.taskmgmt.service;
+
+import com.taskmgmt.dto.TaskRequestDto;
+import com.taskmgmt.dto.TaskResponseDto;
+import com.taskmgmt.dto.TaskStatsDto;
+import com.taskmgmt.entity.*;
+import com.taskmgmt.repository.TaskAssigneeRepository;
+import com.taskmgmt.repository.TaskRepository;
+import com.taskmgmt.repository.UserRepository;
+import com.taskmgmt.security.AuthenticatedUser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class TaskStatsCounterTest {
+
+    @Autowired
+    private TaskStatsCounter counter;
+    @Autowired
+    private TaskService taskService;
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private TaskAssigneeRepository taskAssigneeRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private AuthenticatedUser admin;
+    private User dev;
+    private User qa;
+
+    @BeforeEach
+    void seed() {
+        User adminUser = userRepository.save(User.builder().name("Admin").email("admin@example.com").role(Role.ADMIN).build());
+        dev = userRepository.save(User.builder().name("Dev").email("dev@example.com").role(Role.USER).build());
+        qa = userRepository.save(User.builder().name("QA").email("qa@example.com").role(Role.USER).build());
+        admin = AuthenticatedUser.fromEntity(adminUser);
+        counter.reconcile();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        taskAssigneeRepository.deleteAll();
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+        counter.reconcile();
+    }
+
+    @Test
+    void incrementalCountsMatchAFullRecount() {
+        List<Long> taskIds = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            LocalDate due = LocalDate.now().plusDays(i % 2 == 0 ? -2 : 2); // half of them overdue
+            taskIds.add(create("Task " + i, due, i < 4 ? dev : qa).getId());
+        }
+        taskService.updateTaskStatus(taskIds.get(0), TaskStatus.DONE, admin);
+        taskService.bulkUpdateStatus(taskIds.subList(1, 4), TaskStatus.IN_PROGRESS, admin);
+        taskService.assignUsersToTask(taskIds.get(5), List.of(dev.getId(), qa.getId()), admin);
+
+        TaskStatsDto incremental = counter.stats();
+
+        assertEquals(6, incremental.getTotal());
+        assertEquals(Map.of(TaskStatus.TODO, 2L, TaskStatus.IN_PROGRESS, 3L, TaskStatus.DONE, 1L), incremental.getByStatus());
+        assertEquals(2, incremental.getOverdue()); // task 0 is done
+        assertEquals(Map.of(dev.getId(), 5L, qa.getId(), 2L), incremental.getByAssignee());
+        assertEquals(Map.of(admin.getId(), 6L), incremental.getByCreator());
+
+        counter.reconcile();
+        TaskStatsDto recounted = counter.stats();
+
+        assertEquals(incremental.getTotal(), recounted.getTotal());
+        assertEquals(incremental.getByStatus(), recounted.getByStatus());
+        assertEquals(incremental.getOverdue(), recounted.getOverdue());
+        assertEquals(incremental.getByAssignee(), recounted.getByAssignee());
+        assertEquals(incremental.getByCreator(), recounted.getByCreator());
+    }
+
+    @Test
+    void rolledBackChangesAreNotCounted() {
+        Long taskId = create("Task", null, dev).getId();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            taskService.updateTaskStatus(taskId, TaskStatus.DONE, admin);
+            status.setRollbackOnly();
+        });
+
+        assertEquals(1L, counter.stats().getByStatus().get(TaskStatus.TODO));
+        assertEquals(0L, counter.stats().getByStatus().get(TaskStatus.DONE));
+    }
+
+    @Test
+    void reconcilePicksUpRowsWrittenElsewhere() {
+        taskRepository.save(Task.builder().title("Imported").status(TaskStatus.TODO)
+                .dueDate(LocalDate.now().minusDays(1)).createdBy(dev).build());
+        assertEquals(0, counter.stats().getTotal());
+
+        counter.reconcile();
+
+        assertEquals(1, counter.stats().getTotal());
+        assertEquals(1, counter.stats().getOverdue());
+        assertEquals(Map.of(dev.getId(), 1L), counter.stats().getByCreator());
+    }
+
+    @Test
+    void tasksWithoutAStatusAreLeftOutOfTheStatusCounts() {
+        Long legacyId = taskRepository.save(Task.builder().title("Legacy")
+                .dueDate(LocalDate.now().minusDays(1)).createdBy(dev).build()).getId();
+
+        counter.reconcile();
+
+        assertEquals(0, counter.stats().getTotal());
+        assertEquals(0, counter.stats().getOverdue());
+
+        taskService.updateTaskStatus(legacyId, TaskStatus.IN_PROGRESS, admin);
+
+        assertEquals(1L, counter.stats().getByStatus().get(TaskStatus.IN_PROGRESS));
+        assertEquals(1, counter.stats().getOverdue());
+    }
+
+    private TaskResponseDto create(String title, LocalDate dueDate, User assignee) {
+        return transactionTemplate.execute(status -> taskService.createTaskByAdmin(
+                new TaskRequestDto(title, null, dueDate, TaskStatus.TODO, assignee.getId(), null), admin));
+    }
+}
@@ -0,0 +1,149 @@
+package com.taskmgmt.service;
+
+import com.taskmgmt.dto.TaskResponseDto;
+import com.taskmgmt.entity.*;
+import com.taskmgmt.repository.TaskAssigneeRepository;
+import com.taskmgmt.repository.TaskRepository;
+import com.taskmgmt.repository.UserRepository;
+import com.taskmgmt.security.AuthenticatedUser;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Many writers updating the status of one task at once. Every update either lands with its own
+ * version or is refused with the task's current state: none is silently overwritten. Scale with
+ * -Dcontention.writers=N and -Dcontention.updates=N (per writer); updates per second are logged at
+ * debug, and measured by TaskServiceBenchmark.updateStatusUnderContention in the JMH module.
+ */
+@Slf4j
+@SpringBootTest
+class TaskStatusContentionTest {
+
+    private static final int WRITERS = Integer.getInteger("contention.writers", 16);
+    private static final int UPDATES = Integer.getInteger("contention.updates", 10);
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+    @Autowired
+    private TaskService taskService;
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private TaskAssigneeRepository taskAssigneeRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    private AuthenticatedUser admin;
+    private Long taskId;
+
+    @BeforeEach
+    void seed() {
+        User adminUser = userRepository.save(User.builder().name("Admin").email("admin@example.com").role(Role.ADMIN).build());
+        admin = AuthenticatedUser.fromEntity(adminUser);
+        taskId = taskRepository.save(Task.builder().title("Hot task").status(TaskStatus.TODO).createdBy(adminUser).build()).getId();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        taskAssigneeRepository.deleteAll();
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void unconditionalUpdatesAreNeverLost() throws Exception {
+        AtomicInteger applied = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+
+        long nanos = run((writer, i) -> {
+            try {
+                taskService.updateTaskStatus(taskId, STATUSES[(writer + i) % STATUSES.length], admin);
+                applied.incrementAndGet();
+            } catch (TaskConflictException e) {
+                conflicts.incrementAndGet(); // retries exhausted
+            }
+        });
+
+        report("unconditional", applied.get(), conflicts.get(), nanos);
+        assertEquals(WRITERS * UPDATES, applied.get() + conflicts.get());
+        assertTrue(version() <= applied.get(), "an update that left the status as it was keeps the version");
+    }
+
+    @Test
+    void conditionalUpdatesConflictInsteadOfOverwriting() throws Exception {
+        AtomicInteger applied = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+
+        long nanos = run((writer, i) -> {
+            TaskResponseDto seenTask = current();
+            long seen = seenTask.getVersion();
+            TaskStatus next = STATUSES[(TaskStatus.valueOf(seenTask.getStatus()).ordinal() + 1) % STATUSES.length];
+            try {
+                TaskResponseDto updated = taskService.updateTaskStatus(taskId, next, seen, admin);
+                assertEquals(seen + 1, updated.getVersion());
+                applied.incrementAndGet();
+            } catch (TaskConflictException e) {
+                assertTrue(e.getCurrent().getVersion() > seen, "conflict reports a newer version");
+                conflicts.incrementAndGet();
+            }
+        });
+
+        report("if-match", applied.get(), conflicts.get(), nanos);
+        assertEquals(WRITERS * UPDATES, applied.get() + conflicts.get());
+        assertEquals(applied.get(), version(), "every applied update changed the status and bumped the version once");
+    }
+
+    private long run(Update update) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(WRITERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> writers = new ArrayList<>();
+        for (int w = 0; w < WRITERS; w++) {
+            int writer = w;
+            writers.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < UPDATES; i++) {
+                    update.apply(writer, i);
+                }
+                return null;
+            }));
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        try {
+            for (Future<?> writer : writers) {
+                writer.get(60, TimeUnit.SECONDS);
+            }
+            return System.nanoTime() - begin;
+        } finally {
+            pool.shutdownNow();
+            pool.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private TaskResponseDto current() {
+        return taskRepository.findDtosByIds(List.of(taskId)).get(0);
+    }
+
+    private long version() {
+        return current().getVersion();
+    }
+
+    private static void report(String mode, int applied, int conflicts, long nanos) {
+        log.debug("Status updates on one task ({}), {} writers: {} applied, {} conflicts, {} updates/s",
+                mode, WRITERS, applied, conflicts, Math.round((applied + conflicts) * 1e9 / nanos));
+    }
+
+    private interface Update {
+        void apply(int writer, int i) throws Exception;
+    }
+}